@@ -15,6 +15,7 @@ Sound
 
 
 import view.MainMenuView; // Import the MainMenuView class to display the main menu
+import view.GamePanel; // Import GamePanel to start loading the game assets
 import javax.swing.*; // Import Swing components for GUI
 
 public class Main { // Main class to start the game application
@@ -22,6 +23,9 @@ public class Main { // Main class to start the game application
         // Test database connection at startup
         System.out.println("Starting Game...");
 
+        // Decode images and sounds on worker threads while the window is being set up
+        GamePanel.preloadAssets();
+
         // Set system look and feel
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
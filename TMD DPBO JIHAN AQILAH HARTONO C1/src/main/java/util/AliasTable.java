@@ -0,0 +1,102 @@
+package util; // Utility class for drawing weighted random choices in constant time
+
+import java.util.Random; // Random number source for sampling
+
+/**
+ * AliasTable class - Walker's alias method for sampling from a discrete distribution
+ * The table is built once in O(n) (Vose's construction); every draw then costs one
+ * random number and one comparison, however many outcomes there are. Each column i
+ * keeps outcome i with probability[i] and hands the rest of the column to alias[i]
+ */
+public final class AliasTable {
+    private final float[] probability; // Chance that column i keeps its own outcome
+    private final int[] alias; // Outcome that takes the rest of column i
+
+    /**
+     * Constructor - Build the table for the given weights
+     * @param weights Relative weight of each outcome, not negative, with a positive sum
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("An alias table needs at least one outcome");
+        }
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Invalid weight " + weight);
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The weights must not all be zero");
+        }
+
+        probability = new float[n];
+        alias = new int[n];
+
+        // Scale so the average column holds exactly 1, then split columns into small and large
+        double[] scaled = new double[n];
+        int[] small = new int[n], large = new int[n];
+        int smallCount = 0, largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        // Fill each small column up to 1 with part of a large one
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = (float) scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Whatever is left is full, up to rounding errors
+        while (largeCount > 0) {
+            int i = large[--largeCount];
+            probability[i] = 1f;
+            alias[i] = i;
+        }
+        while (smallCount > 0) {
+            int i = small[--smallCount];
+            probability[i] = 1f;
+            alias[i] = i;
+        }
+    }
+
+    /**
+     * Draw an outcome from a uniform number, using its integer part to pick a column
+     * and its fraction to choose between the column's outcome and its alias
+     * @param uniform Number in [0, 1)
+     * @return Index of the outcome
+     */
+    public int sample(float uniform) {
+        float scaled = uniform * probability.length;
+        int column = (int) scaled;
+        if (column >= probability.length) {
+            column = probability.length - 1; // Guard against uniform rounding up to 1
+        }
+        return scaled - column < probability[column] ? column : alias[column];
+    }
+
+    // Method to draw an outcome with one random number from the given generator
+    public int sample(Random random) {
+        return sample(random.nextFloat());
+    }
+
+    // Method to get the number of outcomes
+    public int size() {
+        return probability.length;
+    }
+}
@@ -0,0 +1,159 @@
+package util; // Regression check that AliasTable draws outcomes as often as their weights say
+
+import java.util.Arrays; // Import Arrays to print the weight sets
+import java.util.Random; // Import Random for the seeded draws
+
+/**
+ * AliasTableCheck class - Verifies AliasTable against the weights it was built from
+ * For each weight set, draws many outcomes from a seeded generator and checks that every
+ * outcome's share stays within a few standard deviations of its weight's share. Outcomes
+ * with weight zero must never be drawn, a table with one outcome must always draw it, and
+ * invalid weights must be rejected.
+ * Exits with 1 if any case fails
+ *
+ * Usage: java util.AliasTableCheck [--draws N] [--seed S]
+ */
+public class AliasTableCheck {
+    private static final double SIGMAS = 5; // Allowed distance from the expected count, in standard deviations
+    private static final double[][] WEIGHT_SETS = { // Weight sets to check
+            {5, 25, 25, 45}, // The bundled spawn table
+            {25, 25, 45, 5}, // Same weights, another order
+            {1}, // Single outcome
+            {0, 3, 0, 1}, // Zero weights between others
+            {0, 0, 1}, // Only the last outcome can be drawn
+            {1, 1, 1, 1, 1, 1, 1}, // Uniform
+            {1, 1, 1, 1, 1000}, // One outcome dominates
+            {0.001, 0.002, 0.003}, // Tiny weights
+            {10, 0}, // Zero weight at the end
+    };
+
+    private int draws = 1000000; // Draws per weight set
+    private long seed = 1L; // Seed of the generator
+    private int failures; // Cases that failed
+
+    // Method to report a failed case
+    private void fail(String message) {
+        System.out.println("FAIL: " + message);
+        failures++;
+    }
+
+    // Method to draw from one weight set and compare the counts with the weights
+    private void checkFrequencies(double[] weights, Random random) {
+        AliasTable table = new AliasTable(weights);
+        String name = Arrays.toString(weights);
+        if (table.size() != weights.length) {
+            fail(name + ": size " + table.size());
+            return;
+        }
+
+        long[] counts = new long[weights.length];
+        for (int i = 0; i < draws; i++) {
+            int outcome = table.sample(random);
+            if (outcome < 0 || outcome >= weights.length) {
+                fail(name + ": drew outcome " + outcome);
+                return;
+            }
+            counts[outcome]++;
+        }
+
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        for (int i = 0; i < weights.length; i++) {
+            double p = weights[i] / total;
+            if (p == 0) {
+                if (counts[i] != 0) {
+                    fail(name + ": outcome " + i + " has weight 0 but was drawn " + counts[i] + " times");
+                }
+                continue;
+            }
+            double expected = draws * p;
+            double tolerance = SIGMAS * Math.sqrt(draws * p * (1 - p)) + 1;
+            if (Math.abs(counts[i] - expected) > tolerance) {
+                fail(name + ": outcome " + i + " drawn " + counts[i] + " times, expected " + Math.round(expected)
+                        + " +- " + Math.round(tolerance));
+            }
+        }
+    }
+
+    // Method to check the edges of the uniform range
+    private void checkUniformEdges() {
+        AliasTable table = new AliasTable(new double[]{5, 25, 25, 45});
+        float[] uniforms = {0f, Math.nextDown(1f), 1f}; // 1 is outside the range but must not overflow
+        for (float uniform : uniforms) {
+            int outcome = table.sample(uniform);
+            if (outcome < 0 || outcome >= table.size()) {
+                fail("sample(" + uniform + ") drew outcome " + outcome);
+            }
+        }
+
+        AliasTable single = new AliasTable(new double[]{3});
+        for (float uniform : uniforms) {
+            if (single.sample(uniform) != 0) {
+                fail("single outcome table: sample(" + uniform + ") drew " + single.sample(uniform));
+            }
+        }
+    }
+
+    // Method to check that invalid weights are rejected
+    private void checkRejected(double[] weights) {
+        try {
+            new AliasTable(weights);
+            fail(Arrays.toString(weights) + " was accepted");
+        } catch (IllegalArgumentException expected) {
+            // Rejected as it should be
+        }
+    }
+
+    // Method to run every case, returns true if all of them passed
+    public boolean run() {
+        Random random = new Random(seed);
+        for (double[] weights : WEIGHT_SETS) {
+            checkFrequencies(weights, random);
+        }
+        checkUniformEdges();
+        checkRejected(new double[0]);
+        checkRejected(new double[]{0, 0});
+        checkRejected(new double[]{1, -1});
+        checkRejected(new double[]{1, Double.NaN});
+        checkRejected(new double[]{1, Double.POSITIVE_INFINITY});
+        System.out.println("Checked " + WEIGHT_SETS.length + " weight sets with " + draws + " draws each");
+        return failures == 0;
+    }
+
+    // Method to parse the command line arguments
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--draws": draws = Math.max(1000, Integer.parseInt(value)); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        AliasTableCheck check = new AliasTableCheck();
+        try {
+            check.parseArguments(args);
+        } catch (RuntimeException e) {
+            System.err.println("Alias table check failed to start: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        if (!check.run()) {
+            System.out.println("FAILED: " + check.failures + " alias table cases failed");
+            System.exit(1);
+        } else {
+            System.out.println("OK: every outcome is drawn as often as its weight says");
+            System.exit(0);
+        }
+    }
+}
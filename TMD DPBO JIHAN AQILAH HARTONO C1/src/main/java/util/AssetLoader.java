@@ -0,0 +1,180 @@
+package util; // Utility class for loading images and sounds on worker threads
+
+import javax.imageio.ImageIO; // Import ImageIO to decode the images
+import java.awt.image.BufferedImage; // Import BufferedImage for the decoded images
+import java.io.IOException; // Import IOException for read errors
+import java.io.InputStream; // Import InputStream to read images from resources
+import java.util.List; // Import List to hold the progress listeners
+import java.util.Map; // Import Map for the asset cache
+import java.util.concurrent.Callable; // Import Callable for the loading tasks
+import java.util.concurrent.ConcurrentHashMap; // Import ConcurrentHashMap so any thread can ask for an asset
+import java.util.concurrent.CopyOnWriteArrayList; // Import CopyOnWriteArrayList for listeners added while loading
+import java.util.concurrent.ExecutionException; // Import ExecutionException for failed tasks
+import java.util.concurrent.Future; // Import Future to hand out assets before they are ready
+import java.util.concurrent.LinkedBlockingQueue; // Import LinkedBlockingQueue for the task queue
+import java.util.concurrent.ThreadPoolExecutor; // Import ThreadPoolExecutor for the worker threads
+import java.util.concurrent.TimeUnit; // Import TimeUnit for the idle timeout
+import java.util.concurrent.atomic.AtomicInteger; // Import AtomicInteger to count tasks across threads
+
+/**
+ * AssetLoader class - Decodes images and sounds in parallel, away from the Swing thread
+ * Each asset is loaded once by a task on a small pool of worker threads; asking for it
+ * again returns the same Future. Start every task early (see GamePanel.preloadAssets),
+ * then collect the results where they are needed: the caller only waits for assets that
+ * are not finished yet, so startup takes about as long as the slowest single asset
+ * instead of the sum of all of them. The workers are daemon threads and exit when idle
+ */
+public class AssetLoader {
+    private static final String[] IMAGE_FORMATS = {".png", ".jpg", ".jpeg"}; // Extensions tried for an image
+    private static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors()); // Worker threads
+    private static final AssetLoader SHARED = new AssetLoader(); // Used by the whole game
+
+    // Callback for finished assets; called on the worker thread that loaded the asset
+    public interface ProgressListener {
+        void assetLoaded(String name, int loaded, int requested);
+    }
+
+    private final ThreadPoolExecutor pool; // Worker threads, started on the first task
+    private final Map<String, Future<?>> assets = new ConcurrentHashMap<>(); // Task per asset name
+    private final List<ProgressListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger requested = new AtomicInteger(); // Tasks started
+    private final AtomicInteger loaded = new AtomicInteger(); // Tasks finished, failed ones included
+
+    // Constructor to create a loader with its own worker threads
+    public AssetLoader() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        pool = new ThreadPoolExecutor(THREADS, THREADS, 2, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, "asset-loader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true); // Never keeps the application alive
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true); // Nothing left to load - let the threads go
+    }
+
+    // Method to get the loader the game shares
+    public static AssetLoader getShared() {
+        return SHARED;
+    }
+
+    // Method to add a listener told about every asset that finishes
+    public void addProgressListener(ProgressListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Start loading an asset, unless it was started before
+     * @param name Asset name, unique across images and sounds
+     * @param task Loads the asset; runs once, on a worker thread
+     * @return Future for the asset; the same one for every call with this name
+     */
+    @SuppressWarnings("unchecked") // Each name is only ever loaded by one kind of task
+    public <T> Future<T> load(String name, Callable<T> task) {
+        return (Future<T>) assets.computeIfAbsent(name, key -> {
+            requested.incrementAndGet();
+            return pool.submit(() -> {
+                try {
+                    return task.call();
+                } finally {
+                    int done = loaded.incrementAndGet();
+                    for (ProgressListener listener : listeners) {
+                        listener.assetLoaded(key, done, requested.get());
+                    }
+                }
+            });
+        });
+    }
+
+    // Method to start decoding an image from /images/ in the screen's pixel format
+    public Future<BufferedImage> loadImage(String baseName) {
+        return load("/images/" + baseName, () -> CompatibleImages.toCompatible(decodeImage(baseName)));
+    }
+
+    // Method to get a decoded image, waiting if it is still loading; null if it could not be loaded
+    public BufferedImage getImage(String baseName) {
+        return await(loadImage(baseName), baseName);
+    }
+
+    /**
+     * Start decoding an image and scaling it to the size it is drawn at, for a SpriteAtlas.
+     * Only the scaled copy is kept, not the full-size image
+     */
+    public Future<BufferedImage> loadSprite(String baseName, int width, int height) {
+        return load("/images/" + baseName + "@" + width + "x" + height, () -> {
+            BufferedImage img = decodeImage(baseName);
+            return img == null ? null : SpriteAtlas.scale(img, width, height);
+        });
+    }
+
+    // Method to get a scaled sprite, waiting if it is still loading; null if it could not be loaded
+    public BufferedImage getSprite(String baseName, int width, int height) {
+        return await(loadSprite(baseName, width, height), baseName);
+    }
+
+    /**
+     * Wait for an asset
+     * @return The asset, or null if its task failed or the wait was interrupted
+     */
+    public static <T> T await(Future<T> asset, String name) {
+        try {
+            return asset.get();
+        } catch (ExecutionException e) {
+            System.out.println("ERROR: Loading " + name + " - " + e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Keep the interrupt for the caller
+            return null;
+        }
+    }
+
+    /**
+     * Decode an image from /images/ on the calling thread, trying each known extension
+     * @return The image as stored in the file, or null if there is none
+     */
+    public static BufferedImage decodeImage(String baseName) {
+        for (String format : IMAGE_FORMATS) {
+            String fileName = baseName + format;
+            BufferedImage img = readImage(fileName);
+            if (img != null) {
+                System.out.println("SUCCESS: Loaded " + fileName);
+                return img;
+            }
+        }
+        System.out.println("FAILED: Could not find " + baseName + " with any format");
+        return null;
+    }
+
+    // Method to decode an image from resources
+    private static BufferedImage readImage(String path) {
+        try {
+            System.out.println("Attempting to load: /images/" + path);
+
+            // Method 1: Try getResourceAsStream
+            try (InputStream stream = AssetLoader.class.getResourceAsStream("/images/" + path)) {
+                if (stream != null) { // If the image is found in resources
+                    BufferedImage img = ImageIO.read(stream); // Read the image from the stream
+                    System.out.println("SUCCESS: Loaded " + path + " via getResourceAsStream");
+                    return img;
+                }
+            }
+
+            // Method 2: Try the context class loader, which may see resources this class cannot
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            java.net.URL imageURL = classLoader != null ? classLoader.getResource("images/" + path) : null;
+            if (imageURL != null) { // If the image is found using class loader
+                BufferedImage img = ImageIO.read(imageURL);
+                System.out.println("SUCCESS: Loaded " + path + " via ClassLoader");
+                return img;
+            }
+
+            return null; // If all methods fail, return null
+
+        } catch (IOException e) {
+            System.out.println("ERROR: Loading " + path + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Getters
+    public int getRequestedCount() { return requested.get(); }
+    public int getLoadedCount() { return loaded.get(); }
+}
@@ -5,7 +5,7 @@ import java.io.File; // Import File class for handling file paths
 import java.io.IOException; // Import IOException for handling file-related exceptions
 
 public class AudioManager {
-    private static AudioManager instance; // Singleton instance of AudioManager
+    private static volatile AudioManager instance; // Singleton instance of AudioManager, created by whichever thread asks first
     private Clip webShootClip; // Clip for web shoot sound
     private Clip backgroundMusicClip;  // Background music clip
     
@@ -15,10 +15,16 @@ public class AudioManager {
     }
     
     public static AudioManager getInstance() { // Method to get the singleton instance of AudioManager
-        if (instance == null) {
-            instance = new AudioManager();
+        AudioManager manager = instance;
+        if (manager == null) { // The asset loader and the Swing thread may both ask at startup
+            synchronized (AudioManager.class) {
+                manager = instance;
+                if (manager == null) {
+                    manager = instance = new AudioManager();
+                }
+            }
         }
-        return instance;
+        return manager;
     }
     
     private void loadSounds() { // Method to load audio files
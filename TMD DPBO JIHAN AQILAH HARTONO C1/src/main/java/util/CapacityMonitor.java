@@ -0,0 +1,72 @@
+package util; // Utility class for finding how many entities fit in a frame budget
+
+/**
+ * CapacityMonitor class - Tracks frame time against entity count
+ * Every frame reports how many entities it handled and how long it took. The frame
+ * time is smoothed so single hiccups (garbage collection, the window being dragged)
+ * do not count, and the entity count at which the smoothed time first exceeds the
+ * budget is kept as the capacity ceiling.
+ * Not thread-safe: feed it from one thread
+ */
+public class CapacityMonitor {
+    public static final long DEFAULT_BUDGET_NANOS = 16_000_000L; // 16 ms, one frame at 60 Hz
+    private static final double SMOOTHING = 0.1; // Weight of the newest frame in the moving average
+    private static final int WARMUP_FRAMES = 60; // Frames ignored while the JIT warms up
+
+    private final long budgetNanos; // Frame time budget
+    private double smoothedNanos; // Moving average of the frame time
+    private long frames; // Frames recorded
+    private int peakEntities; // Most entities seen in one frame
+    private int ceilingEntities = -1; // Entity count when the budget was first exceeded (-1 = not yet)
+
+    // Constructor for a 16 ms budget
+    public CapacityMonitor() {
+        this(DEFAULT_BUDGET_NANOS);
+    }
+
+    // Constructor for a custom frame time budget in nanoseconds
+    public CapacityMonitor(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Record one frame
+     * @param entities Number of entities in the frame
+     * @param frameNanos Time the frame took
+     * @return true if this frame is the one that first broke the budget
+     */
+    public boolean record(int entities, long frameNanos) {
+        frames++;
+        smoothedNanos = frames == 1 ? frameNanos : smoothedNanos + (frameNanos - smoothedNanos) * SMOOTHING;
+        if (entities > peakEntities) {
+            peakEntities = entities;
+        }
+        if (ceilingEntities < 0 && frames > WARMUP_FRAMES && smoothedNanos > budgetNanos) {
+            ceilingEntities = entities;
+            return true;
+        }
+        return false;
+    }
+
+    // Method to check whether the budget has been exceeded yet
+    public boolean hasCeiling() {
+        return ceilingEntities >= 0;
+    }
+
+    // Getters
+    public int getCeilingEntities() { return ceilingEntities; }
+    public int getPeakEntities() { return peakEntities; }
+    public double getSmoothedMillis() { return smoothedNanos / 1_000_000.0; }
+    public long getBudgetNanos() { return budgetNanos; }
+
+    @Override // Report line for logs
+    public String toString() {
+        String budget = String.format("%.1f ms", budgetNanos / 1_000_000.0);
+        if (hasCeiling()) {
+            return "Capacity ceiling: frame time passed " + budget + " at " + ceilingEntities + " entities (peak "
+                    + peakEntities + ")";
+        }
+        return String.format("Capacity ceiling: not reached, frame time %.2f ms with up to %d entities (budget %s)",
+                getSmoothedMillis(), peakEntities, budget);
+    }
+}
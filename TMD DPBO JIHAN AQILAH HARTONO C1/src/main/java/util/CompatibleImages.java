@@ -0,0 +1,62 @@
+package util; // Utility class for images in the screen's own pixel format
+
+import java.awt.Graphics2D; // Import Graphics2D to copy pixels into the converted image
+import java.awt.GraphicsConfiguration; // Import GraphicsConfiguration to ask for the screen's format
+import java.awt.GraphicsEnvironment; // Import GraphicsEnvironment to find the default screen
+import java.awt.Transparency; // Import Transparency to pick opaque or translucent formats
+import java.awt.image.BufferedImage; // Import BufferedImage for the images
+
+/**
+ * CompatibleImages class - Creates and converts images to the format the screen uses
+ * ImageIO returns whatever the file holds (indexed colours, custom or 3-byte layouts),
+ * and Java2D draws such images with slow software loops. An image in the screen's
+ * own format takes the accelerated path and can be cached in video memory.
+ * Without a screen (headless) the equivalent pre-multiplied int formats are used
+ */
+public final class CompatibleImages {
+    private CompatibleImages() {} // Only static methods
+
+    // Method to get the default screen configuration, or null when there is no screen
+    public static GraphicsConfiguration getDefaultConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+
+    /**
+     * Create an empty image in the screen's format
+     * @param transparency Transparency.OPAQUE, BITMASK or TRANSLUCENT
+     */
+    public static BufferedImage create(int width, int height, int transparency) {
+        GraphicsConfiguration config = getDefaultConfiguration();
+        if (config != null) {
+            return config.createCompatibleImage(width, height, transparency);
+        }
+        return new BufferedImage(width, height,
+                transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    /**
+     * Convert an image to the screen's format, keeping its transparency
+     * @return The converted copy, the image itself if it already matches, or null for null
+     */
+    public static BufferedImage toCompatible(BufferedImage image) {
+        if (image == null) {
+            return null;
+        }
+        int transparency = image.getColorModel().getTransparency();
+        GraphicsConfiguration config = getDefaultConfiguration();
+        if (config != null && image.getColorModel().equals(config.getColorModel(transparency))) {
+            return image; // Already in the right format
+        }
+        BufferedImage converted = create(image.getWidth(), image.getHeight(), transparency);
+        if (config == null && converted.getType() == image.getType()) {
+            return image;
+        }
+        Graphics2D g2d = converted.createGraphics();
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+        return converted;
+    }
+}
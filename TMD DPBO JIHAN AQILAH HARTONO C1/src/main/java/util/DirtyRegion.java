@@ -0,0 +1,163 @@
+package util; // Utility class for collecting the part of the screen that needs repainting
+
+import java.awt.Rectangle; // Import Rectangle to hand the areas to Swing
+
+/**
+ * DirtyRegion class - A few separate rectangles covering everything added to it
+ * Renderers add the old and new bounds of everything that changed, then repaint each
+ * rectangle on its own instead of the whole surface. Rectangles that overlap or nearly
+ * touch are merged, so things far apart (jellyfish at opposite edges of the screen) stay
+ * separate areas instead of one box spanning the space between them. When all the slots
+ * are taken, a new rectangle is merged into the one it grows the least.
+ * Adding a rectangle allocates nothing, so it can be called for every entity on every frame
+ */
+public class DirtyRegion {
+    private static final int MAX_RECTANGLES = 12; // Default most separate areas kept; more paint calls cost more than they save
+    private static final int MERGE_GAP = 16; // Rectangles closer than this are merged
+
+    // Rectangle i spans minX[i]..maxX[i] and minY[i]..maxY[i], max exclusive; they never overlap
+    private final int[] minX, minY, maxX, maxY;
+    private final int capacity; // Most separate areas kept
+    private int count; // Rectangles in use
+
+    // Constructor for a region of at most MAX_RECTANGLES areas
+    public DirtyRegion() {
+        this(MAX_RECTANGLES);
+    }
+
+    // Constructor for a region of at most the given number of areas
+    public DirtyRegion(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("A dirty region needs room for at least one rectangle");
+        }
+        this.capacity = capacity;
+        minX = new int[capacity];
+        minY = new int[capacity];
+        maxX = new int[capacity];
+        maxY = new int[capacity];
+    }
+
+    // Method to add the rectangle at (x, y) with the given size; empty rectangles are ignored
+    public void add(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        int x0 = x, y0 = y, x1 = x + width, y1 = y + height;
+
+        // Swallow every rectangle the new one touches; the grown box may then reach others
+        while (true) {
+            int near = -1;
+            for (int i = 0; i < count && near < 0; i++) {
+                if (x0 - MERGE_GAP < maxX[i] && minX[i] < x1 + MERGE_GAP
+                        && y0 - MERGE_GAP < maxY[i] && minY[i] < y1 + MERGE_GAP) {
+                    near = i;
+                }
+            }
+            if (near < 0 && count < capacity) break;
+            if (near < 0) {
+                near = cheapestMerge(x0, y0, x1, y1); // No slot left - merge where it costs the least
+            }
+            x0 = Math.min(x0, minX[near]);
+            y0 = Math.min(y0, minY[near]);
+            x1 = Math.max(x1, maxX[near]);
+            y1 = Math.max(y1, maxY[near]);
+            remove(near);
+        }
+        minX[count] = x0;
+        minY[count] = y0;
+        maxX[count] = x1;
+        maxY[count] = y1;
+        count++;
+    }
+
+    // Method to find the rectangle that grows the least when the given box is merged into it
+    private int cheapestMerge(int x0, int y0, int x1, int y1) {
+        int best = 0;
+        long bestGrowth = Long.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            long union = (long) (Math.max(x1, maxX[i]) - Math.min(x0, minX[i]))
+                    * (Math.max(y1, maxY[i]) - Math.min(y0, minY[i]));
+            long growth = union - area(i);
+            if (growth < bestGrowth) {
+                bestGrowth = growth;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    // Method to drop rectangle i, moving the last one into its place
+    private void remove(int i) {
+        count--;
+        minX[i] = minX[count];
+        minY[i] = minY[count];
+        maxX[i] = maxX[count];
+        maxY[i] = maxY[count];
+    }
+
+    // Method to get the area of rectangle i
+    private long area(int i) {
+        return (long) (maxX[i] - minX[i]) * (maxY[i] - minY[i]);
+    }
+
+    // Method to add every rectangle of another region
+    public void add(DirtyRegion other) {
+        for (int i = 0; i < other.count; i++) {
+            add(other.minX[i], other.minY[i], other.maxX[i] - other.minX[i], other.maxY[i] - other.minY[i]);
+        }
+    }
+
+    // Method to copy another region into this one
+    public void set(DirtyRegion other) {
+        if (other.count > capacity) { // Too many to copy as they are
+            clear();
+            add(other);
+            return;
+        }
+        count = other.count;
+        System.arraycopy(other.minX, 0, minX, 0, count);
+        System.arraycopy(other.minY, 0, minY, 0, count);
+        System.arraycopy(other.maxX, 0, maxX, 0, count);
+        System.arraycopy(other.maxY, 0, maxY, 0, count);
+    }
+
+    // Method to cut every rectangle down to a surface of the given size, dropping those outside it
+    public void clipTo(int width, int height) {
+        for (int i = count - 1; i >= 0; i--) {
+            minX[i] = Math.max(minX[i], 0);
+            minY[i] = Math.max(minY[i], 0);
+            maxX[i] = Math.min(maxX[i], width);
+            maxY[i] = Math.min(maxY[i], height);
+            if (minX[i] >= maxX[i] || minY[i] >= maxY[i]) {
+                remove(i);
+            }
+        }
+    }
+
+    // Method to forget every rectangle added
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Copy one rectangle of the region
+     * @param i Index, 0 .. getCount()-1
+     * @param out Rectangle to fill
+     * @return out, for chaining
+     */
+    public Rectangle getRectangle(int i, Rectangle out) {
+        out.setBounds(minX[i], minY[i], maxX[i] - minX[i], maxY[i] - minY[i]);
+        return out;
+    }
+
+    // Method to get the pixels covered; exact, since the rectangles never overlap
+    public long getArea() {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += area(i);
+        }
+        return total;
+    }
+
+    // Getters
+    public boolean isEmpty() { return count == 0; }
+    public int getCount() { return count; }
+}
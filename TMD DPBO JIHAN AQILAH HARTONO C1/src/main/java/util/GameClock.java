@@ -0,0 +1,70 @@
+package util; // Utility class for reading game time
+
+/**
+ * GameClock class - Monotonic game time source shared by every time-based component
+ * Game time is built from a raw nanosecond source (System.nanoTime by default),
+ * so it never jumps when the wall clock changes, and it can be paused or sped up
+ * with a time-scale multiplier without the components noticing
+ */
+public abstract class GameClock {
+    private long lastSourceNanos; // Raw source reading at the previous call
+    private long gameNanos; // Accumulated game time in nanoseconds
+    private double timeScale = 1.0; // Game time speed multiplier
+    private boolean paused; // Game time stands still while paused
+    private boolean started; // First reading taken
+
+    // Method to read the raw time source in nanoseconds
+    protected abstract long readSourceNanos();
+
+    // Factory method for a clock backed by System.nanoTime
+    public static GameClock system() {
+        return new GameClock() {
+            @Override
+            protected long readSourceNanos() {
+                return System.nanoTime();
+            }
+        };
+    }
+
+    // Method to get the current game time in nanoseconds
+    public synchronized long nanoTime() {
+        long source = readSourceNanos();
+        if (!started) {
+            started = true;
+        } else if (!paused) {
+            gameNanos += (long) ((source - lastSourceNanos) * timeScale);
+        }
+        lastSourceNanos = source;
+        return gameNanos;
+    }
+
+    // Method to get the current game time in milliseconds
+    public long millis() {
+        return nanoTime() / 1_000_000L;
+    }
+
+    // Method to pause game time
+    public synchronized void pause() {
+        nanoTime(); // Bank the time that passed before the pause
+        paused = true;
+    }
+
+    // Method to resume game time after a pause
+    public synchronized void resume() {
+        nanoTime(); // Skip the time that passed during the pause
+        paused = false;
+    }
+
+    // Method to change the game time speed (1.0 = real time)
+    public synchronized void setTimeScale(double timeScale) {
+        if (timeScale < 0) {
+            throw new IllegalArgumentException("timeScale must not be negative: " + timeScale);
+        }
+        nanoTime(); // Time so far runs at the old speed
+        this.timeScale = timeScale;
+    }
+
+    // Getters
+    public synchronized boolean isPaused() { return paused; }
+    public synchronized double getTimeScale() { return timeScale; }
+}
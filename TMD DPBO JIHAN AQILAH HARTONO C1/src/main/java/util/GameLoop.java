@@ -0,0 +1,168 @@
+package util; // Utility class for driving the game simulation at a fixed rate
+
+import java.util.concurrent.atomic.AtomicInteger; // Frame counter shared with the render thread
+import java.util.concurrent.locks.LockSupport; // Import LockSupport for waits shorter than a millisecond
+
+/**
+ * GameLoop class - Dedicated game loop thread with a fixed simulation timestep
+ * The simulation always advances in steps of the same length, using an accumulator
+ * to catch up after slow frames, while rendering is requested as often as the frame cap
+ * allows; without a cap, once per tick, since frames in between would show nothing new
+ * Simulation time is read from a GameClock, so pausing or scaling the clock pauses or
+ * scales the simulation, while frame pacing and the measured rates use real time
+ */
+public class GameLoop implements Runnable {
+    private static final int MAX_CATCH_UP_TICKS = 5; // Max ticks run in one iteration before dropping time
+    private static final long NANOS_PER_SECOND = 1_000_000_000L; // Nanoseconds in one second
+
+    private final GameClock clock; // Game time source that feeds the accumulator
+    private final Runnable tickAction; // Simulation step, called exactly once per tick
+    private final Runnable renderAction; // Render request, called once per frame
+    private final long tickNanos; // Length of one simulation tick in nanoseconds
+    private volatile long minFrameNanos; // Minimum time between frames (0 = uncapped)
+
+    private Thread thread; // Thread running the loop
+    private volatile boolean running; // Flag to keep the loop alive
+
+    // Measured rates, updated once per second
+    private volatile double ticksPerSecond;
+    private volatile double framesPerSecond;
+    private int tickCounter; // Ticks counted in the current measuring window
+    private final AtomicInteger frameCounter = new AtomicInteger(); // Frames counted in the current measuring window
+    private volatile long droppedNanos; // Simulation time discarded because of the catch-up limit
+    private volatile long lastTickDurationNanos; // Real time the most recent tick took to run
+
+    /**
+     * Constructor - Create a loop that ticks at the given rate
+     * @param ticksPerSecond Number of simulation ticks per second
+     * @param clock Game time source (pausable and scalable)
+     * @param tickAction Simulation step to run every tick
+     * @param renderAction Render request to run once per frame
+     */
+    public GameLoop(int ticksPerSecond, GameClock clock, Runnable tickAction, Runnable renderAction) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("ticksPerSecond must be positive: " + ticksPerSecond);
+        }
+        this.clock = clock;
+        this.tickAction = tickAction;
+        this.renderAction = renderAction;
+        this.tickNanos = NANOS_PER_SECOND / ticksPerSecond;
+        this.minFrameNanos = 0;
+    }
+
+    // Method to start the loop thread
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this, "GameLoop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Method to stop the loop thread and wait for it to finish
+    public synchronized void stop() {
+        running = false;
+        if (thread != null && thread != Thread.currentThread()) {
+            thread.interrupt();
+            try {
+                thread.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        thread = null;
+    }
+
+    @Override // Main loop: fixed-step simulation with accumulator, render as often as allowed
+    public void run() {
+        long previousGameTime = clock.nanoTime();
+        long accumulator = 0;
+        long lastFrame = System.nanoTime();
+        long rateWindowStart = lastFrame;
+
+        while (running) {
+            long now = System.nanoTime();
+            long gameTime = clock.nanoTime(); // One clock read per loop iteration
+            accumulator += gameTime - previousGameTime;
+            previousGameTime = gameTime;
+
+            // Run as many fixed ticks as the elapsed time requires, up to the catch-up limit
+            int ticksThisIteration = 0;
+            while (accumulator >= tickNanos && ticksThisIteration < MAX_CATCH_UP_TICKS) {
+                long tickStart = System.nanoTime();
+                try {
+                    tickAction.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Error in game tick: " + e.getMessage());
+                    e.printStackTrace();
+                }
+                lastTickDurationNanos = System.nanoTime() - tickStart;
+                accumulator -= tickNanos;
+                ticksThisIteration++;
+                tickCounter++;
+            }
+
+            // Too far behind - drop the remaining time instead of spiralling
+            if (accumulator >= tickNanos) {
+                droppedNanos += accumulator - (accumulator % tickNanos);
+                accumulator %= tickNanos;
+            }
+
+            // Render when the frame cap allows it; uncapped, when a tick ran or a tick's time passed (paused game)
+            long frameNanos = minFrameNanos;
+            boolean frameDue = frameNanos > 0 ? now - lastFrame >= frameNanos
+                    : ticksThisIteration > 0 || now - lastFrame >= tickNanos;
+            if (frameDue) {
+                lastFrame = now;
+                try {
+                    renderAction.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Error in game render: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+
+            // Update measured rates once per second
+            if (now - rateWindowStart >= NANOS_PER_SECOND) {
+                double seconds = (double) (now - rateWindowStart) / NANOS_PER_SECOND;
+                ticksPerSecond = tickCounter / seconds;
+                framesPerSecond = frameCounter.getAndSet(0) / seconds;
+                tickCounter = 0;
+                rateWindowStart = now;
+            }
+
+            // Sleep until the next tick or frame is due to avoid burning a core
+            long untilTick = tickNanos - accumulator;
+            long untilFrame = (frameNanos > 0 ? frameNanos : tickNanos) - (System.nanoTime() - lastFrame);
+            long wait = Math.min(untilTick, Math.max(untilFrame, 0));
+            if (wait > 1_000_000L) {
+                try {
+                    Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+                } catch (InterruptedException e) {
+                    if (!running) break;
+                }
+            } else if (wait > 0) {
+                LockSupport.parkNanos(this, wait); // Short wait - park instead of spinning on yield
+            }
+        }
+    }
+
+    // Method called by the renderer each time a frame has actually been drawn
+    public void markFrame() {
+        frameCounter.incrementAndGet();
+    }
+
+    // Method to cap the render rate (0 or less = as fast as the loop allows)
+    public void setMaxFramesPerSecond(int maxFramesPerSecond) {
+        this.minFrameNanos = maxFramesPerSecond > 0 ? NANOS_PER_SECOND / maxFramesPerSecond : 0;
+    }
+
+    // Getters
+    public double getTicksPerSecond() { return ticksPerSecond; }
+    public double getFramesPerSecond() { return framesPerSecond; }
+    public long getTickNanos() { return tickNanos; }
+    public GameClock getClock() { return clock; }
+    public long getDroppedNanos() { return droppedNanos; }
+    public long getLastTickDurationNanos() { return lastTickDurationNanos; }
+    public boolean isRunning() { return running; }
+}
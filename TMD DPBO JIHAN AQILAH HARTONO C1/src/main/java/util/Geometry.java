@@ -0,0 +1,46 @@
+package util; // Utility class for exact geometric intersection tests
+
+/**
+ * Geometry class - Static intersection tests used by collision checks
+ * All tests work on primitive coordinates and allocate nothing
+ */
+public final class Geometry {
+
+    private Geometry() {
+    }
+
+    /**
+     * Clip a segment against an axis-aligned box (Liang-Barsky)
+     * The segment is P(t) = (x0 + t * dx, y0 + t * dy) for t in [0, 1]; a segment
+     * of length zero is tested as a point
+     * @return Parameter t where the segment first touches the box, 0 if it starts
+     *         inside, or -1 if it misses the box
+     */
+    public static float segmentBoxEntry(float x0, float y0, float dx, float dy,
+                                        float minX, float minY, float maxX, float maxY) {
+        float tEnter = 0, tExit = 1;
+
+        // Clip against the vertical slab
+        if (dx == 0) {
+            if (x0 < minX || x0 > maxX) return -1;
+        } else {
+            float t1 = (minX - x0) / dx, t2 = (maxX - x0) / dx;
+            if (t1 > t2) { float swap = t1; t1 = t2; t2 = swap; }
+            if (t1 > tEnter) tEnter = t1;
+            if (t2 < tExit) tExit = t2;
+            if (tEnter > tExit) return -1;
+        }
+
+        // Clip against the horizontal slab
+        if (dy == 0) {
+            if (y0 < minY || y0 > maxY) return -1;
+        } else {
+            float t1 = (minY - y0) / dy, t2 = (maxY - y0) / dy;
+            if (t1 > t2) { float swap = t1; t1 = t2; t2 = swap; }
+            if (t1 > tEnter) tEnter = t1;
+            if (t2 < tExit) tExit = t2;
+            if (tEnter > tExit) return -1;
+        }
+        return tEnter;
+    }
+}
@@ -0,0 +1,159 @@
+package util; // Regression check for the exact segment-box entry test
+
+import java.util.Random; // Import Random for the seeded random segments
+
+/**
+ * GeometryCheck class - Verifies Geometry.segmentBoxEntry
+ * First checks hand-picked segments against the box (0, 0)-(10, 10) whose entry point is
+ * known exactly: segments through the edges and corners, vertical and horizontal ones,
+ * segments along an edge, segments that start inside, stop short or point away, and
+ * segments of length zero. Then compares random segments with a brute-force walk along
+ * the segment in small steps.
+ * Exits with 1 if any case fails
+ *
+ * Usage: java util.GeometryCheck [--segments N] [--seed S]
+ */
+public class GeometryCheck {
+    private static final float MIN = 0, MAX = 10; // The box is (MIN, MIN)-(MAX, MAX)
+    private static final float EPSILON = 1e-5f; // Allowed error of an exact entry point
+    private static final int STEPS = 4000; // Points per segment in the brute-force walk
+
+    // Segments as {x0, y0, dx, dy, expected t}, where -1 means the segment misses the box
+    private static final float[][] CASES = {
+            {-10, 5, 20, 0, 0.5f}, // Horizontal, enters through the left edge
+            {20, 5, -20, 0, 0.5f}, // Horizontal, enters through the right edge
+            {5, -10, 0, 20, 0.5f}, // Vertical, enters through the top edge
+            {5, 20, 0, -20, 0.5f}, // Vertical, enters through the bottom edge
+            {-10, 10, 20, 0, 0.5f}, // Horizontal, slides along the bottom edge
+            {0, -10, 0, 20, 0.5f}, // Vertical, slides along the left edge
+            {-10, 10.001f, 20, 0, -1}, // Horizontal, just below the box
+            {-0.001f, -10, 0, 20, -1}, // Vertical, just left of the box
+            {-10, 5, 10, 0, 1}, // Ends exactly on the left edge
+            {-10, 5, 9.99f, 0, -1}, // Stops short of the left edge
+            {-1, 5, -5, 0, -1}, // Points away from the box
+            {-10, -10, 10, 10, 1}, // Ends exactly on the top-left corner
+            {-5, 15, 10, -10, 0.5f}, // Touches the bottom-left corner halfway
+            {-10, 1, 20, -20, -1}, // Passes outside the top-left corner
+            {15, -5, -10, 10, 0.5f}, // Touches the top-right corner halfway
+            {-10, -10, 30, 30, 1 / 3f}, // Diagonal through two corners
+            {2, -10, 2, 20, 0.5f}, // Steep, enters through the top edge
+            {-10, 2, 20, 2, 0.5f}, // Shallow, enters through the left edge
+            {5, 5, 100, 0, 0}, // Starts inside, leaves to the right
+            {5, 5, 1, 1, 0}, // Starts and ends inside
+            {0, 0, -5, -5, 0}, // Starts on a corner, points away
+            {10, 5, 5, 0, 0}, // Starts on the right edge, points away
+            {5, 5, 0, 0, 0}, // Length zero, inside
+            {10, 10, 0, 0, 0}, // Length zero, on a corner
+            {11, 5, 0, 0, -1}, // Length zero, outside
+    };
+
+    private int segments = 20000; // Random segments compared with the brute-force walk
+    private long seed = 1L; // Seed of the random segments
+    private int failures; // Cases that failed
+
+    // Method to report a failed case
+    private void fail(String message) {
+        System.out.println("FAIL: " + message);
+        failures++;
+    }
+
+    // Method to check whether a point is in the box, edges included, with some slack
+    private static boolean inBox(float x, float y, float slack) {
+        return x >= MIN - slack && x <= MAX + slack && y >= MIN - slack && y <= MAX + slack;
+    }
+
+    // Method to describe a segment for the failure messages
+    private static String describe(float x0, float y0, float dx, float dy) {
+        return "(" + x0 + ", " + y0 + ") + t * (" + dx + ", " + dy + ")";
+    }
+
+    // Method to check the hand-picked segments
+    private void checkKnownCases() {
+        for (float[] c : CASES) {
+            float t = Geometry.segmentBoxEntry(c[0], c[1], c[2], c[3], MIN, MIN, MAX, MAX);
+            float expected = c[4];
+            boolean ok = expected < 0 ? t == -1 : Math.abs(t - expected) <= EPSILON;
+            if (!ok) {
+                fail(describe(c[0], c[1], c[2], c[3]) + ": entry " + t + ", expected " + expected);
+            }
+        }
+    }
+
+    // Method to compare random segments with a walk along them
+    private void checkRandomSegments() {
+        Random random = new Random(seed);
+        for (int i = 0; i < segments; i++) {
+            float x0 = -20 + random.nextFloat() * 50, y0 = -20 + random.nextFloat() * 50;
+            float dx = -30 + random.nextFloat() * 60, dy = -30 + random.nextFloat() * 60;
+            if (i % 10 == 0) dx = 0; // Plenty of vertical segments
+            if (i % 10 == 1) dy = 0; // And horizontal ones
+            float t = Geometry.segmentBoxEntry(x0, y0, dx, dy, MIN, MIN, MAX, MAX);
+
+            // The first step of the walk that lies well inside the box
+            float slack = 1e-3f, step = 1f / STEPS;
+            int firstInside = -1;
+            for (int s = 0; s <= STEPS && firstInside < 0; s++) {
+                if (inBox(x0 + s * step * dx, y0 + s * step * dy, -slack)) {
+                    firstInside = s;
+                }
+            }
+
+            if (t == -1) {
+                if (firstInside >= 0) {
+                    fail(describe(x0, y0, dx, dy) + ": missed, but t = " + firstInside * step + " is inside");
+                }
+                continue;
+            }
+            if (t < 0 || t > 1) {
+                fail(describe(x0, y0, dx, dy) + ": entry " + t + " outside [0, 1]");
+            } else if (!inBox(x0 + t * dx, y0 + t * dy, slack)) {
+                fail(describe(x0, y0, dx, dy) + ": entry " + t + " is not on the box");
+            } else if (firstInside >= 0 && firstInside * step < t - step) {
+                fail(describe(x0, y0, dx, dy) + ": entry " + t + ", but t = " + firstInside * step + " is inside");
+            }
+        }
+    }
+
+    // Method to run every case, returns true if all of them passed
+    public boolean run() {
+        checkKnownCases();
+        checkRandomSegments();
+        System.out.println("Checked " + CASES.length + " known segments and " + segments + " random ones");
+        return failures == 0;
+    }
+
+    // Method to parse the command line arguments
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--segments": segments = Math.max(0, Integer.parseInt(value)); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        GeometryCheck check = new GeometryCheck();
+        try {
+            check.parseArguments(args);
+        } catch (RuntimeException e) {
+            System.err.println("Geometry check failed to start: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        if (!check.run()) {
+            System.out.println("FAILED: " + check.failures + " segment cases failed");
+            System.exit(1);
+        } else {
+            System.out.println("OK: every segment enters the box where it should");
+            System.exit(0);
+        }
+    }
+}
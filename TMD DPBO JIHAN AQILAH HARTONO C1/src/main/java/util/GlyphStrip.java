@@ -0,0 +1,167 @@
+package util; // Utility class for drawing text from pre-rendered glyphs
+
+import java.awt.Color; // Import Color for the glyph colour
+import java.awt.Font; // Import Font for the glyph shapes
+import java.awt.FontMetrics; // Import FontMetrics to measure the glyphs
+import java.awt.Graphics2D; // Import Graphics2D to render and draw the glyphs
+import java.awt.RenderingHints; // Import RenderingHints for smooth glyph edges
+import java.awt.Transparency; // Import Transparency to ask for a translucent strip
+import java.awt.image.BufferedImage; // Import BufferedImage for the strip
+
+/**
+ * GlyphStrip class - Text in one font and colour, drawn from a strip of pre-rendered glyphs
+ * drawString lays text out and rasterises it again on every call. A strip renders the
+ * printable ASCII characters once, side by side, and drawing text is then one image
+ * copy per character. Together with the char buffer helpers below, HUD text such as
+ * "Score: 120" is drawn without creating a single object.
+ * Characters outside printable ASCII are drawn as spaces
+ */
+public class GlyphStrip {
+    private static final char FIRST = 32, LAST = 126; // Printable ASCII
+
+    private final Font font; // Font the glyphs were rendered with
+    private final BufferedImage strip; // All glyphs side by side
+    private final int[] cellX = new int[LAST - FIRST + 1]; // Left edge of each glyph cell in the strip
+    private final int[] advance = new int[LAST - FIRST + 1]; // Pen movement after each glyph
+    private final int pad; // Room around each glyph for parts that stick out (bold, italics, anti-aliasing)
+    private final int ascent, descent; // Font metrics, for positioning and measuring
+
+    /**
+     * Constructor - Render the glyphs of a font in a colour
+     * @param font Font to render
+     * @param color Colour of the text, alpha included
+     */
+    public GlyphStrip(Font font, Color color) {
+        this.font = font;
+        this.pad = Math.max(2, font.getSize() / 4);
+
+        // Measure every glyph on a scratch image
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D measure = scratch.createGraphics();
+        applyHints(measure);
+        FontMetrics metrics = measure.getFontMetrics(font);
+        measure.dispose();
+        ascent = metrics.getAscent();
+        descent = metrics.getDescent();
+
+        int x = 0;
+        for (char c = FIRST; c <= LAST; c++) {
+            int i = c - FIRST;
+            advance[i] = metrics.charWidth(c);
+            cellX[i] = x;
+            x += advance[i] + 2 * pad;
+        }
+
+        // Render them once, each in its own cell with the baseline at pad + ascent
+        strip = CompatibleImages.create(Math.max(1, x), ascent + descent + 2 * pad, Transparency.TRANSLUCENT);
+        Graphics2D g2d = strip.createGraphics();
+        applyHints(g2d);
+        g2d.setFont(font);
+        g2d.setColor(color);
+        char[] one = new char[1];
+        for (char c = FIRST; c <= LAST; c++) {
+            one[0] = c;
+            g2d.drawChars(one, 0, 1, cellX[c - FIRST] + pad, pad + ascent);
+        }
+        g2d.dispose();
+    }
+
+    // Method to set the hints the glyphs are rendered with
+    private static void applyHints(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
+    }
+
+    /**
+     * Draw characters from a buffer with the baseline at y, like Graphics.drawChars
+     * @return x after the last character
+     */
+    public int draw(Graphics2D g2d, char[] text, int offset, int length, int x, int y) {
+        for (int k = offset; k < offset + length; k++) {
+            x = drawChar(g2d, text[k], x, y);
+        }
+        return x;
+    }
+
+    /**
+     * Draw a string with the baseline at y, like Graphics.drawString
+     * @return x after the last character
+     */
+    public int draw(Graphics2D g2d, String text, int x, int y) {
+        for (int k = 0; k < text.length(); k++) {
+            x = drawChar(g2d, text.charAt(k), x, y);
+        }
+        return x;
+    }
+
+    // Method to draw one character and return the x of the next one
+    private int drawChar(Graphics2D g2d, char c, int x, int y) {
+        int i = (c < FIRST || c > LAST ? ' ' : c) - FIRST;
+        if (c != ' ') {
+            int sx = cellX[i], width = advance[i] + 2 * pad, height = strip.getHeight();
+            int dx = x - pad, dy = y - ascent - pad;
+            g2d.drawImage(strip, dx, dy, dx + width, dy + height, sx, 0, sx + width, height, null);
+        }
+        return x + advance[i];
+    }
+
+    // Method to measure characters from a buffer
+    public int width(char[] text, int offset, int length) {
+        int width = 0;
+        for (int k = offset; k < offset + length; k++) {
+            char c = text[k];
+            width += advance[(c < FIRST || c > LAST ? ' ' : c) - FIRST];
+        }
+        return width;
+    }
+
+    // Method to measure a string
+    public int width(String text) {
+        int width = 0;
+        for (int k = 0; k < text.length(); k++) {
+            char c = text.charAt(k);
+            width += advance[(c < FIRST || c > LAST ? ' ' : c) - FIRST];
+        }
+        return width;
+    }
+
+    /**
+     * Write a string into a buffer
+     * @return Position after the last character written
+     */
+    public static int append(char[] buffer, int position, String text) {
+        int length = Math.min(text.length(), buffer.length - position);
+        text.getChars(0, length, buffer, position);
+        return position + length;
+    }
+
+    /**
+     * Write a number into a buffer in decimal, without creating a String
+     * @return Position after the last digit written
+     */
+    public static int append(char[] buffer, int position, long value) {
+        if (value < 0) {
+            if (position < buffer.length) buffer[position++] = '-';
+            value = -value; // Long.MIN_VALUE stays negative, and is written as digits of its magnitude below
+        }
+        int start = position;
+        do {
+            if (position >= buffer.length) break;
+            buffer[position++] = (char) ('0' + Math.abs(value % 10));
+            value /= 10;
+        } while (value != 0);
+
+        // Digits came out lowest first - reverse them
+        for (int i = start, j = position - 1; i < j; i++, j--) {
+            char t = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = t;
+        }
+        return position;
+    }
+
+    // Getters
+    public Font getFont() { return font; }
+    public int getAscent() { return ascent; }
+    public int getHeight() { return ascent + descent; }
+}
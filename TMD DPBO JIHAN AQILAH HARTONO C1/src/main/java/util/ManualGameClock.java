@@ -0,0 +1,28 @@
+package util; // Utility class for a manually advanced game clock
+
+/**
+ * ManualGameClock class - Game clock that only moves when it is told to
+ * Used by headless runs, replays and tests, where the simulation advances the
+ * clock by exactly one tick per update instead of following real time
+ */
+public class ManualGameClock extends GameClock {
+    private long sourceNanos; // Raw time, only changed by advance()
+
+    // Method to move the raw time forward
+    public synchronized void advanceNanos(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("Cannot move the clock backwards: " + nanos);
+        }
+        sourceNanos += nanos;
+    }
+
+    // Method to move the raw time forward in milliseconds
+    public void advanceMillis(long millis) {
+        advanceNanos(millis * 1_000_000L);
+    }
+
+    @Override // Raw time is whatever has been advanced so far
+    protected synchronized long readSourceNanos() {
+        return sourceNanos;
+    }
+}
@@ -0,0 +1,94 @@
+package util; // Utility class for reusing short-lived game objects
+
+import java.util.function.Consumer; // Reset hook run on released objects
+import java.util.function.Supplier; // Factory for new objects when the pool is empty
+
+/**
+ * ObjectPool class - Bounded free list of reusable objects of one type
+ * acquire() hands out a pooled object when one is free (a hit) and only creates
+ * a new one when the free list is empty (a miss). release() runs the reset hook
+ * and keeps the object for the next acquire, unless the free list is full.
+ * Not thread-safe: each pool belongs to the single thread that runs the simulation
+ */
+public class ObjectPool<T> {
+    private final String name; // Name used in statistics
+    private final Object[] free; // Free list, used as a stack
+    private final Supplier<T> factory; // Creates objects on a miss
+    private final Consumer<T> resetHook; // Clears an object on release (may be null)
+    private int freeCount; // Number of objects in the free list
+
+    // Statistics
+    private long hits; // Acquires served from the free list
+    private long misses; // Acquires that had to create a new object
+    private long discards; // Releases dropped because the free list was full
+
+    /**
+     * Constructor - Create an empty pool
+     * @param name Name used in statistics
+     * @param maxFree Maximum number of objects kept in the free list
+     * @param factory Creates a new object when the free list is empty
+     * @param resetHook Clears an object when it is released (may be null)
+     */
+    public ObjectPool(String name, int maxFree, Supplier<T> factory, Consumer<T> resetHook) {
+        if (maxFree <= 0) {
+            throw new IllegalArgumentException("maxFree must be positive: " + maxFree);
+        }
+        this.name = name;
+        this.free = new Object[maxFree];
+        this.factory = factory;
+        this.resetHook = resetHook;
+    }
+
+    // Method to create objects up front so the first acquires are hits
+    public ObjectPool<T> prefill(int amount) {
+        while (freeCount < Math.min(amount, free.length)) {
+            free[freeCount++] = factory.get();
+        }
+        return this;
+    }
+
+    // Method to take an object from the pool, creating one if none is free
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if (freeCount > 0) {
+            hits++;
+            T object = (T) free[--freeCount];
+            free[freeCount] = null;
+            return object;
+        }
+        misses++;
+        return factory.get();
+    }
+
+    // Method to give an object back to the pool
+    public void release(T object) {
+        if (object == null) return;
+        if (resetHook != null) {
+            resetHook.accept(object);
+        }
+        if (freeCount < free.length) {
+            free[freeCount++] = object;
+        } else {
+            discards++;
+        }
+    }
+
+    // Method to get the share of acquires served from the free list
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 1.0 : (double) hits / total;
+    }
+
+    // Getters
+    public String getName() { return name; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getDiscards() { return discards; }
+    public int getFreeCount() { return freeCount; }
+
+    @Override // Statistics summary for logs
+    public String toString() {
+        return String.format("%s pool: %d hits, %d misses (%.1f%% hit rate), %d discarded, %d free",
+                name, hits, misses, getHitRate() * 100, discards, freeCount);
+    }
+}
@@ -0,0 +1,151 @@
+package util; // Utility class for trading render quality for frame rate
+
+import java.util.Arrays; // Import Arrays to sort the frame time window
+
+/**
+ * QualityController class - Picks a render quality tier from measured frame times
+ * Frame times are collected in a window; when the window is full its 95th percentile
+ * is compared with the frame budget. Over budget, quality drops one tier. Well under
+ * budget, it rises one tier again. Each tier keeps the reductions of the ones above it.
+ * If a step up goes straight back over budget, the controller waits twice as many
+ * windows before trying again, so it does not flip between two tiers every second.
+ * Not thread-safe: feed it from the thread that renders
+ */
+public class QualityController {
+    public static final long DEFAULT_BUDGET_NANOS = 1_000_000_000L / 60; // One frame at 60 Hz
+    public static final int DEFAULT_WINDOW = 120; // Frames per decision, about two seconds
+    private static final double PERCENTILE = 0.95; // Share of frames that must fit the budget
+    private static final double HEADROOM = 0.6; // Step up only below this share of the budget
+    private static final int MAX_UPGRADE_DELAY = 8; // Most windows waited before trying a step up
+
+    // Quality tiers, best first; each one keeps the reductions of the tiers before it
+    public enum Tier {
+        FULL, // Everything on
+        NO_GLOW, // No glow halos, web glow or cutscene dimming - the translucent fills cost the most
+        NO_ANTIALIASING, // Shapes and lines drawn without anti-aliasing
+        SHAPES, // Jellyfish drawn as the plain shape fallbacks instead of sprites
+        LOW_RESOLUTION // Scene drawn at half size and scaled up
+    }
+
+    private static final Tier[] TIERS = Tier.values(); // Ordinal lookup
+
+    private final long budgetNanos; // Frame time budget
+    private final boolean adaptive; // False when a fixed tier was asked for
+    private final long[] window; // Frame times of the current window
+    private final long[] sorted; // Scratch copy for the percentile
+    private int filled; // Frames in the current window
+    private Tier tier; // Current tier
+    private long lastPercentileNanos = -1; // 95th percentile of the last full window (-1 = none yet)
+    private int upgradeDelay = 1; // Windows with headroom needed before a step up
+    private int headroomWindows; // Windows with headroom in a row
+    private boolean justUpgraded; // The last change was a step up
+    private int changes; // Tier changes so far
+
+    // Constructor for an adaptive controller with a 60 Hz budget
+    public QualityController() {
+        this(DEFAULT_BUDGET_NANOS, DEFAULT_WINDOW, null);
+    }
+
+    /**
+     * Constructor - Create a controller
+     * @param budgetNanos Frame time budget
+     * @param windowFrames Frames per decision
+     * @param fixedTier Tier to keep for good, or null to adapt
+     */
+    public QualityController(long budgetNanos, int windowFrames, Tier fixedTier) {
+        if (budgetNanos <= 0 || windowFrames < 1) {
+            throw new IllegalArgumentException("Invalid budget " + budgetNanos + " or window " + windowFrames);
+        }
+        this.budgetNanos = budgetNanos;
+        this.window = new long[windowFrames];
+        this.sorted = new long[windowFrames];
+        this.adaptive = fixedTier == null;
+        this.tier = adaptive ? Tier.FULL : fixedTier;
+    }
+
+    /**
+     * Create a controller from -Djellyfish.quality: "auto" (the default) adapts, a tier
+     * name such as "no_glow" keeps that tier
+     */
+    public static QualityController fromSystemProperties() {
+        return fromSystemProperties("auto");
+    }
+
+    /**
+     * Create a controller from -Djellyfish.quality, or from the given value if it is not set
+     * @param defaultValue "auto" or a tier name
+     */
+    public static QualityController fromSystemProperties(String defaultValue) {
+        String value = System.getProperty("jellyfish.quality", defaultValue).trim();
+        if (value.equalsIgnoreCase("auto")) {
+            return new QualityController();
+        }
+        try {
+            return new QualityController(DEFAULT_BUDGET_NANOS, DEFAULT_WINDOW, Tier.valueOf(value.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Unknown quality " + value + ", using auto");
+            return new QualityController();
+        }
+    }
+
+    /**
+     * Record one frame
+     * @param frameNanos Time the frame took
+     * @return true if the tier changed
+     */
+    public boolean record(long frameNanos) {
+        if (!adaptive) return false;
+        window[filled++] = frameNanos;
+        if (filled < window.length) return false;
+        filled = 0;
+
+        System.arraycopy(window, 0, sorted, 0, window.length);
+        Arrays.sort(sorted);
+        lastPercentileNanos = sorted[Math.min(window.length - 1, (int) (window.length * PERCENTILE))];
+
+        if (lastPercentileNanos > budgetNanos) {
+            headroomWindows = 0;
+            if (justUpgraded) { // The better tier did not fit after all - wait longer next time
+                upgradeDelay = Math.min(MAX_UPGRADE_DELAY, upgradeDelay * 2);
+            }
+            return change(tier.ordinal() + 1, false);
+        }
+        justUpgraded = false;
+        if (lastPercentileNanos < budgetNanos * HEADROOM && ++headroomWindows >= upgradeDelay) {
+            headroomWindows = 0;
+            return change(tier.ordinal() - 1, true);
+        }
+        return false;
+    }
+
+    // Method to move to the tier with the given ordinal, if there is one
+    private boolean change(int ordinal, boolean upgrade) {
+        if (ordinal < 0 || ordinal >= TIERS.length) return false;
+        tier = TIERS[ordinal];
+        justUpgraded = upgrade;
+        changes++;
+        return true;
+    }
+
+    // Methods telling the renderer what the current tier allows
+    public boolean isAntialiasing() { return tier.ordinal() < Tier.NO_ANTIALIASING.ordinal(); }
+    public boolean isGlowEnabled() { return tier.ordinal() < Tier.NO_GLOW.ordinal(); }
+    public boolean isSpritesEnabled() { return tier.ordinal() < Tier.SHAPES.ordinal(); }
+    public float getRenderScale() { return tier == Tier.LOW_RESOLUTION ? 0.5f : 1f; }
+
+    // Getters
+    public Tier getTier() { return tier; }
+    public boolean isAdaptive() { return adaptive; }
+    public long getBudgetNanos() { return budgetNanos; }
+    public int getChangeCount() { return changes; }
+    public double getLastPercentileMillis() { return lastPercentileNanos / 1_000_000.0; }
+
+    @Override // Report line for logs
+    public String toString() {
+        if (!adaptive) {
+            return "Render quality: " + tier + " (fixed)";
+        }
+        return String.format("Render quality: %s after %d changes, frame time p95 %.2f ms (budget %.1f ms)",
+                tier, changes, lastPercentileNanos < 0 ? 0 : getLastPercentileMillis(), budgetNanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,214 @@
+package util; // Utility class for finding entities near a point, segment or box
+
+import java.util.Arrays; // Import Arrays to clear and grow the buffers
+
+/**
+ * SpatialHashGrid class - Uniform grid broadphase over a fixed world area
+ * Entities are axis-aligned boxes identified by their index (0 .. count-1). rebuild()
+ * buckets them into cells with a counting sort, so the grid is a few flat int arrays
+ * and rebuilding it allocates nothing once the buffers have grown to size.
+ * Queries write the index of every entity whose cells they touch into a caller
+ * buffer; the caller still does the exact test. Entities outside the world area are
+ * kept in the nearest edge cell, so nothing is ever lost.
+ * Not thread-safe: a grid belongs to the thread that runs the simulation
+ */
+public class SpatialHashGrid {
+    private final float minX, minY; // Top-left corner of the world area
+    private final float cellSize; // Width and height of one cell
+    private final int columns, rows; // Grid size in cells
+
+    private final int[] cellStart; // Start of each cell's entries in cellItems, plus an end marker
+    private int[] cellItems; // Entity indices, grouped by cell
+    private int[] stamp; // Query number that last reported each entity, for de-duplication
+    private int currentStamp; // Number of the running query
+    private int entityCount; // Number of entities in the last rebuild
+
+    /**
+     * Constructor - Create a grid covering the given world area
+     * @param minX Left edge of the world area
+     * @param minY Top edge of the world area
+     * @param width Width of the world area
+     * @param height Height of the world area
+     * @param cellSize Width and height of one cell, ideally about the size of an entity
+     */
+    public SpatialHashGrid(float minX, float minY, float width, float height, float cellSize) {
+        if (width <= 0 || height <= 0 || cellSize <= 0) {
+            throw new IllegalArgumentException("Grid area and cell size must be positive");
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.cellStart = new int[columns * rows + 1];
+        this.cellItems = new int[64];
+        this.stamp = new int[64];
+    }
+
+    /**
+     * Rebuild the grid from entity boxes that all have the same size
+     * @param x Left edge of each entity
+     * @param y Top edge of each entity
+     * @param count Number of entities (indices 0 .. count-1)
+     * @param width Width of every entity
+     * @param height Height of every entity
+     */
+    public void rebuild(float[] x, float[] y, int count, float width, float height) {
+        // Pass 1: count the entries of every cell
+        Arrays.fill(cellStart, 0);
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            int c0 = column(x[i]), c1 = column(x[i] + width);
+            int r0 = row(y[i]), r1 = row(y[i] + height);
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    cellStart[r * columns + c + 1]++;
+                }
+            }
+            total += (c1 - c0 + 1) * (r1 - r0 + 1);
+        }
+
+        // Prefix sum: cellStart[cell] is now where the cell's entries begin
+        for (int cell = 1; cell < cellStart.length; cell++) {
+            cellStart[cell] += cellStart[cell - 1];
+        }
+        if (cellItems.length < total) {
+            cellItems = new int[Math.max(total, cellItems.length * 2)];
+        }
+
+        // Pass 2: place every entity in its cells, using cellStart as a moving cursor
+        for (int i = 0; i < count; i++) {
+            int c0 = column(x[i]), c1 = column(x[i] + width);
+            int r0 = row(y[i]), r1 = row(y[i] + height);
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    cellItems[cellStart[r * columns + c]++] = i;
+                }
+            }
+        }
+
+        // The cursors ended on the next cell's start, shift them back by one cell
+        System.arraycopy(cellStart, 0, cellStart, 1, cellStart.length - 1);
+        cellStart[0] = 0;
+
+        if (stamp.length < count) {
+            stamp = new int[Math.max(count, stamp.length * 2)];
+            currentStamp = 0;
+        }
+        entityCount = count;
+    }
+
+    /**
+     * Find the entities in the cell that contains a point
+     * @param out Buffer for the entity indices, at least as long as the entity count
+     * @return Number of indices written to out
+     */
+    public int queryPoint(float px, float py, int[] out) {
+        int cell = row(py) * columns + column(px);
+        int n = 0;
+        for (int k = cellStart[cell], end = cellStart[cell + 1]; k < end; k++) {
+            out[n++] = cellItems[k]; // An entity is only once in each cell
+        }
+        return n;
+    }
+
+    /**
+     * Find the entities in every cell that overlaps a box
+     * @param out Buffer for the entity indices, at least as long as the entity count
+     * @return Number of indices written to out, each index at most once
+     */
+    public int queryBox(float boxMinX, float boxMinY, float boxMaxX, float boxMaxY, int[] out) {
+        int c0 = column(boxMinX), c1 = column(boxMaxX);
+        int r0 = row(boxMinY), r1 = row(boxMaxY);
+        int queryStamp = nextStamp();
+        int n = 0;
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                n = collect(r * columns + c, queryStamp, out, n);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Find the entities in every cell that a line segment passes through
+     * Cells are walked in order from the start to the end of the segment
+     * @param out Buffer for the entity indices, at least as long as the entity count
+     * @return Number of indices written to out, each index at most once
+     */
+    public int querySegment(float x0, float y0, float x1, float y1, int[] out) {
+        int queryStamp = nextStamp();
+
+        // Walk the cells the segment crosses (grid traversal by Amanatides and Woo)
+        double gx0 = (x0 - minX) / cellSize, gy0 = (y0 - minY) / cellSize;
+        double gx1 = (x1 - minX) / cellSize, gy1 = (y1 - minY) / cellSize;
+        int cx = (int) Math.floor(gx0), cy = (int) Math.floor(gy0);
+        int endX = (int) Math.floor(gx1), endY = (int) Math.floor(gy1);
+        double dx = gx1 - gx0, dy = gy1 - gy0;
+
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        double tDeltaX = dx != 0 ? Math.abs(1 / dx) : Double.POSITIVE_INFINITY;
+        double tDeltaY = dy != 0 ? Math.abs(1 / dy) : Double.POSITIVE_INFINITY;
+        double tMaxX = dx > 0 ? (cx + 1 - gx0) * tDeltaX : dx < 0 ? (gx0 - cx) * tDeltaX : Double.POSITIVE_INFINITY;
+        double tMaxY = dy > 0 ? (cy + 1 - gy0) * tDeltaY : dy < 0 ? (gy0 - cy) * tDeltaY : Double.POSITIVE_INFINITY;
+
+        int n = collect(clampRow(cy) * columns + clampColumn(cx), queryStamp, out, 0);
+        for (int steps = Math.abs(endX - cx) + Math.abs(endY - cy); steps > 0; steps--) {
+            if (tMaxX < tMaxY) {
+                cx += stepX;
+                tMaxX += tDeltaX;
+            } else {
+                cy += stepY;
+                tMaxY += tDeltaY;
+            }
+            // Cells outside the world map onto the edge cells that hold outside entities
+            n = collect(clampRow(cy) * columns + clampColumn(cx), queryStamp, out, n);
+        }
+        return n;
+    }
+
+    // Method to copy the not yet reported entities of one cell into out
+    private int collect(int cell, int queryStamp, int[] out, int n) {
+        for (int k = cellStart[cell], end = cellStart[cell + 1]; k < end; k++) {
+            int item = cellItems[k];
+            if (stamp[item] != queryStamp) {
+                stamp[item] = queryStamp;
+                out[n++] = item;
+            }
+        }
+        return n;
+    }
+
+    // Method to start a new query, clearing the stamps when the counter wraps around
+    private int nextStamp() {
+        if (++currentStamp == 0) {
+            Arrays.fill(stamp, 0);
+            currentStamp = 1;
+        }
+        return currentStamp;
+    }
+
+    // Methods to find the (clamped) cell column and row of a world position
+    private int column(float worldX) {
+        return clampColumn((int) Math.floor((worldX - minX) / cellSize));
+    }
+
+    private int row(float worldY) {
+        return clampRow((int) Math.floor((worldY - minY) / cellSize));
+    }
+
+    private int clampColumn(int column) {
+        return column < 0 ? 0 : column >= columns ? columns - 1 : column;
+    }
+
+    private int clampRow(int row) {
+        return row < 0 ? 0 : row >= rows ? rows - 1 : row;
+    }
+
+    // Getters
+    public int getColumns() { return columns; }
+    public int getRows() { return rows; }
+    public float getCellSize() { return cellSize; }
+    public int getEntityCount() { return entityCount; }
+}
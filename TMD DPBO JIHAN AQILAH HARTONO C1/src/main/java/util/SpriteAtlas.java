@@ -0,0 +1,132 @@
+package util; // Utility class for drawing pre-scaled sprites from one packed image
+
+import java.awt.Graphics2D; // Import Graphics2D to scale sprites and draw them
+import java.awt.RenderingHints; // Import RenderingHints for smooth scaling
+import java.awt.Transparency; // Import Transparency to ask for a translucent atlas
+import java.awt.image.BufferedImage; // Import BufferedImage for the sprites and the atlas
+import java.util.ArrayList; // Import ArrayList to collect sprites before packing
+import java.util.Arrays; // Import Arrays to sort sprites by height
+import java.util.List; // Import List to handle collections of sprites
+
+/**
+ * SpriteAtlas class - Sprites scaled once to their draw size and packed into one image
+ * Drawing a large image at a small size makes Java2D resample it on every frame. Each
+ * sprite is scaled once, with good quality, by scale() before it is added, and the atlas
+ * packs all of them into shelves of a single image, so drawing a sprite is a plain copy
+ * of a rectangle of the atlas with no scaling.
+ * Add every sprite, call pack(), then draw. Not thread-safe while packing
+ */
+public class SpriteAtlas {
+    private static final int MAX_WIDTH = 1024; // Widest the atlas gets before starting a new shelf
+    private static final int PADDING = 1; // Empty pixels between sprites, so edges never bleed
+
+    private final List<BufferedImage> pending = new ArrayList<>(); // Scaled sprites waiting to be packed
+    private int[] spriteX = new int[0], spriteY = new int[0]; // Position of each sprite in the atlas
+    private int[] spriteWidth = new int[0], spriteHeight = new int[0]; // Size of each sprite
+    private BufferedImage atlas; // Packed image (null until pack())
+
+    /**
+     * Add a sprite that is already at the size it will be drawn at, e.g. one scaled by
+     * AssetLoader.loadSprite on a worker thread
+     * @return Sprite id for draw(), or -1 if sprite is null
+     */
+    public int addScaled(BufferedImage sprite) {
+        if (atlas != null) {
+            throw new IllegalStateException("The atlas is already packed");
+        }
+        if (sprite == null) {
+            return -1;
+        }
+        pending.add(sprite);
+        return pending.size() - 1;
+    }
+
+    /**
+     * Scale an image down smoothly, halving it step by step so no source pixels are
+     * skipped, then scaling the last step to the exact size
+     */
+    public static BufferedImage scale(BufferedImage source, int width, int height) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Invalid sprite size " + width + "x" + height);
+        }
+        BufferedImage current = source;
+        int w = source.getWidth(), h = source.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g2d = next.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.drawImage(current, 0, 0, w, h, null);
+            g2d.dispose();
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    // Method to pack the added sprites into the atlas image
+    public void pack() {
+        if (atlas != null) return;
+        int n = pending.size();
+        spriteX = new int[n];
+        spriteY = new int[n];
+        spriteWidth = new int[n];
+        spriteHeight = new int[n];
+
+        // Tallest first, so each shelf wastes little height
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+            spriteWidth[i] = pending.get(i).getWidth();
+            spriteHeight[i] = pending.get(i).getHeight();
+        }
+        Arrays.sort(order, (a, b) -> spriteHeight[b] - spriteHeight[a]);
+
+        // Shelf packing: fill a row left to right, start a new row when it is full
+        int shelfX = 0, shelfY = 0, shelfHeight = 0, atlasWidth = 1;
+        for (int i : order) {
+            if (shelfX > 0 && shelfX + spriteWidth[i] > MAX_WIDTH) {
+                shelfY += shelfHeight + PADDING;
+                shelfX = 0;
+                shelfHeight = 0;
+            }
+            spriteX[i] = shelfX;
+            spriteY[i] = shelfY;
+            shelfX += spriteWidth[i] + PADDING;
+            shelfHeight = Math.max(shelfHeight, spriteHeight[i]);
+            atlasWidth = Math.max(atlasWidth, shelfX);
+        }
+
+        // In the screen's own format, so Java2D can keep the atlas in video memory
+        atlas = CompatibleImages.create(atlasWidth, Math.max(1, shelfY + shelfHeight), Transparency.TRANSLUCENT);
+        Graphics2D g2d = atlas.createGraphics();
+        for (int i = 0; i < n; i++) {
+            g2d.drawImage(pending.get(i), spriteX[i], spriteY[i], null);
+        }
+        g2d.dispose();
+        pending.clear();
+    }
+
+    /**
+     * Draw a sprite at its packed size with its top-left corner at (x, y)
+     * @param id Sprite id from addScaled(); -1 draws nothing
+     */
+    public void draw(Graphics2D g2d, int id, int x, int y) {
+        if (id < 0) return;
+        int sx = spriteX[id], sy = spriteY[id], w = spriteWidth[id], h = spriteHeight[id];
+        g2d.drawImage(atlas, x, y, x + w, y + h, sx, sy, sx + w, sy + h, null);
+    }
+
+    // Method to draw a sprite centred on (centerX, centerY)
+    public void drawCentered(Graphics2D g2d, int id, int centerX, int centerY) {
+        if (id < 0) return;
+        draw(g2d, id, centerX - spriteWidth[id] / 2, centerY - spriteHeight[id] / 2);
+    }
+
+    // Getters
+    public int getWidth(int id) { return spriteWidth[id]; }
+    public int getHeight(int id) { return spriteHeight[id]; }
+    public BufferedImage getImage() { return atlas; }
+    public boolean isPacked() { return atlas != null; }
+}
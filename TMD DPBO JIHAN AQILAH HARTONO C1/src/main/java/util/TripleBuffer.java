@@ -0,0 +1,67 @@
+package util; // Utility class for handing frames from one thread to another without locks
+
+import java.util.concurrent.atomic.AtomicReference; // Slot exchanged between writer and reader
+import java.util.function.Supplier; // Factory for the three buffers
+
+/**
+ * TripleBuffer class - Lock-free hand-off of the latest value from one writer to one reader
+ * The writer fills its own buffer and publishes it by swapping it with the shared "ready"
+ * slot; the reader swaps its own buffer with the ready slot whenever that holds something
+ * newer. Neither side ever waits, the writer never touches a buffer the reader is using,
+ * and a slow reader simply skips frames. Buffers are reused, so nothing is allocated
+ * after construction.
+ * Exactly one thread at a time may write and one may read (writes from several threads
+ * are fine if they are serialised by a common lock)
+ */
+public class TripleBuffer<T> {
+
+    // A buffer together with the sequence number it was published under
+    private static final class Slot<T> {
+        private final T value;
+        private long sequence; // 0 until first published
+
+        private Slot(T value) {
+            this.value = value;
+        }
+    }
+
+    private Slot<T> writeSlot; // Owned by the writer
+    private final AtomicReference<Slot<T>> ready; // Latest published buffer, or one the reader gave back
+    private Slot<T> readSlot; // Owned by the reader
+    private long nextSequence = 1; // Sequence number of the next publish
+
+    /**
+     * Constructor - Create the three buffers
+     * @param factory Creates one empty buffer, called three times
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        writeSlot = new Slot<>(factory.get());
+        ready = new AtomicReference<>(new Slot<>(factory.get()));
+        readSlot = new Slot<>(factory.get());
+    }
+
+    // Method for the writer to get the buffer to fill
+    public T getWriteBuffer() {
+        return writeSlot.value;
+    }
+
+    // Method for the writer to publish the filled buffer and take a free one for the next write
+    public void publish() {
+        writeSlot.sequence = nextSequence++;
+        writeSlot = ready.getAndSet(writeSlot); // Volatile write makes the filled buffer visible
+    }
+
+    // Method for the reader to get the newest published buffer, valid until the next call
+    public T acquireLatest() {
+        // Only the writer replaces the ready slot with something newer, so the check cannot go stale
+        if (ready.get().sequence > readSlot.sequence) {
+            readSlot = ready.getAndSet(readSlot);
+        }
+        return readSlot.value;
+    }
+
+    // Method for the reader to get the sequence number of the buffer it holds (0 = nothing published yet)
+    public long getReadSequence() {
+        return readSlot.sequence;
+    }
+}
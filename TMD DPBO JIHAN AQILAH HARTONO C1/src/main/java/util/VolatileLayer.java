@@ -0,0 +1,104 @@
+package util; // Utility class for static layers kept in video memory
+
+import java.awt.AlphaComposite; // Import AlphaComposite to replace the pixels when restoring
+import java.awt.Graphics2D; // Import Graphics2D to draw the layer and restore its contents
+import java.awt.GraphicsConfiguration; // Import GraphicsConfiguration to create and validate the video memory image
+import java.awt.GraphicsDevice; // Import GraphicsDevice to tell screens from offscreen targets
+import java.awt.image.BufferedImage; // Import BufferedImage for the layer contents
+import java.awt.image.VolatileImage; // Import VolatileImage for the accelerated copy
+
+/**
+ * VolatileLayer class - A pre-rendered layer drawn from a VolatileImage
+ * A VolatileImage lives in video memory, so drawing it is a fast copy on the graphics
+ * card, but the system may throw its contents away at any time (display mode change,
+ * another full-screen program, a locked screen). The layer keeps its contents in a
+ * normal image as well and copies them back whenever the volatile copy was lost or no
+ * longer suits the screen being drawn on.
+ * When drawing to something other than a screen (an image, a printer) the normal
+ * image is drawn directly
+ */
+public class VolatileLayer {
+    private static final int MAX_RESTORE_ATTEMPTS = 3; // Give up on video memory after this many losses in a row
+
+    private BufferedImage content; // The layer, always valid
+    private VolatileImage volatileImage; // Copy in video memory (null until first drawn on a screen)
+    private long restoreCount; // Times the contents were copied into video memory
+
+    /**
+     * Constructor - Create a layer showing the given image
+     * @param content Layer contents, ideally from CompatibleImages
+     */
+    public VolatileLayer(BufferedImage content) {
+        setContent(content);
+    }
+
+    // Method to replace the layer contents, e.g. after the panel was resized
+    public void setContent(BufferedImage content) {
+        if (content == null) {
+            throw new IllegalArgumentException("A layer needs contents");
+        }
+        this.content = content;
+        if (volatileImage != null) {
+            volatileImage.flush();
+            volatileImage = null; // Recreated at the new size on the next draw
+        }
+    }
+
+    /**
+     * Draw the layer with its top-left corner at (x, y), restoring the video memory copy
+     * if it was lost since the last draw
+     */
+    public void draw(Graphics2D g2d, int x, int y) {
+        GraphicsConfiguration config = g2d.getDeviceConfiguration();
+        if (config == null || config.getDevice().getType() != GraphicsDevice.TYPE_RASTER_SCREEN) {
+            g2d.drawImage(content, x, y, null);
+            return;
+        }
+
+        for (int attempt = 0; attempt < MAX_RESTORE_ATTEMPTS; attempt++) {
+            if (volatileImage == null) {
+                volatileImage = config.createCompatibleVolatileImage(content.getWidth(), content.getHeight(),
+                        content.getTransparency());
+                restore();
+            } else {
+                int status = volatileImage.validate(config);
+                if (status == VolatileImage.IMAGE_INCOMPATIBLE) { // Moved to another screen
+                    volatileImage.flush();
+                    volatileImage = null;
+                    continue;
+                }
+                if (status == VolatileImage.IMAGE_RESTORED) { // Surface came back empty
+                    restore();
+                }
+            }
+            g2d.drawImage(volatileImage, x, y, null);
+            if (!volatileImage.contentsLost()) {
+                return;
+            }
+        }
+        g2d.drawImage(content, x, y, null); // Video memory keeps failing - draw from system memory
+    }
+
+    // Method to copy the contents into the video memory image
+    private void restore() {
+        Graphics2D g2d = volatileImage.createGraphics();
+        g2d.setComposite(AlphaComposite.Src); // Replace, so translucent layers do not build up
+        g2d.drawImage(content, 0, 0, null);
+        g2d.dispose();
+        restoreCount++;
+    }
+
+    // Method to free the video memory; the layer is recreated on the next draw
+    public void flush() {
+        if (volatileImage != null) {
+            volatileImage.flush();
+            volatileImage = null;
+        }
+    }
+
+    // Getters
+    public BufferedImage getContent() { return content; }
+    public int getWidth() { return content.getWidth(); }
+    public int getHeight() { return content.getHeight(); }
+    public long getRestoreCount() { return restoreCount; }
+}
@@ -0,0 +1,112 @@
+package view; // View for active rendering of the game
+
+import java.awt.Canvas; // Import Canvas, a heavyweight surface that can own a BufferStrategy
+import java.awt.Dimension; // Import Dimension for the preferred size
+import java.awt.Graphics; // Import Graphics for the paint callbacks
+import java.awt.Graphics2D; // Import Graphics2D to draw the frame
+import java.awt.Toolkit; // Import Toolkit to flush the drawing to the screen
+import java.awt.event.ComponentAdapter; // Import ComponentAdapter to follow size changes
+import java.awt.event.ComponentEvent; // Import ComponentEvent for size changes
+import java.awt.image.BufferStrategy; // Import BufferStrategy for page flipping
+
+/**
+ * GameCanvas class - Active rendering surface for the game
+ * With a JPanel, the game loop can only ask Swing to repaint; Swing decides when, may
+ * merge requests, and copies its own back buffer to the screen afterwards. The canvas
+ * instead draws and shows every frame itself from the game loop thread, through a
+ * BufferStrategy that flips pages when the graphics card supports it and copies
+ * otherwise, so a frame reaches the screen as soon as it is drawn.
+ * Drawing is done by a GamePanel that is never shown, so both modes share one drawing
+ * path. A flipped back buffer holds an older frame, so every frame is drawn in full.
+ * Frames come from the game loop thread, and one last frame from the EDT after the loop
+ * stops, so the buffer strategy is only touched while holding bufferLock. Taking the
+ * canvas off screen needs no lock: Component.removeNotify invalidates the buffers
+ * itself, and a frame drawn into them then fails, is dropped and makes new buffers
+ */
+public class GameCanvas extends Canvas {
+    private final GamePanel renderer; // Draws the frames
+    private final int bufferCount; // 2 = double buffering, 3 = triple buffering
+    private final Object bufferLock = new Object(); // Held while drawing a frame or touching the fields below
+    private BufferStrategy strategy; // Created on the first frame after the canvas is shown
+    private long lostFrames; // Frames drawn again because the buffers were lost
+
+    /**
+     * Constructor - Create a canvas that shows the frames drawn by a panel
+     * @param renderer Panel to draw with; it is not added to any window
+     * @param bufferCount Number of buffers, 2 or 3
+     */
+    public GameCanvas(GamePanel renderer, int bufferCount) {
+        if (bufferCount < 2 || bufferCount > 3) {
+            throw new IllegalArgumentException("Buffer count must be 2 or 3: " + bufferCount);
+        }
+        this.renderer = renderer;
+        this.bufferCount = bufferCount;
+        setPreferredSize(new Dimension(800, 600));
+        setBackground(renderer.getBackground());
+        setIgnoreRepaint(true); // The game loop draws; the system must not paint over it
+        setFocusable(true);
+
+        // Keep the panel the size of the canvas, since it lays out the frame by its own size
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                renderer.setSize(getWidth(), getHeight());
+            }
+        });
+    }
+
+    /**
+     * Draw the newest frame and show it - called on the game loop thread once per frame,
+     * or on the EDT once the loop has stopped. Does nothing until the canvas is on screen
+     */
+    public void renderFrame() {
+        synchronized (bufferLock) {
+            if (!isDisplayable() || getWidth() <= 0 || getHeight() <= 0) {
+                strategy = null; // Off screen; removeNotify already invalidated its buffers
+                return;
+            }
+            if (strategy == null || strategy != getBufferStrategy()) { // First frame, or shown again
+                createBufferStrategy(bufferCount);
+                strategy = getBufferStrategy();
+            }
+
+            renderer.updateFrame(); // Take the newest frame; the whole canvas is drawn anyway
+            try {
+                do {
+                    do {
+                        Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                        try {
+                            g2d.setColor(getBackground());
+                            g2d.fillRect(0, 0, getWidth(), getHeight());
+                            renderer.render(g2d);
+                        } finally {
+                            g2d.dispose();
+                        }
+                    } while (strategy.contentsRestored()); // Buffers came back empty while drawing - draw again
+                    strategy.show();
+                    if (strategy.contentsLost()) {
+                        lostFrames++;
+                    }
+                } while (strategy.contentsLost());
+            } catch (IllegalStateException e) { // The canvas left the screen while drawing
+                strategy = null;
+                lostFrames++;
+                return;
+            }
+            Toolkit.getDefaultToolkit().sync(); // Push the frame out now instead of when the system gets to it
+        }
+    }
+
+    @Override // Method to ignore system paint requests; the next frame covers them
+    public void paint(Graphics g) {
+    }
+
+    // Getters
+    public GamePanel getRenderer() { return renderer; }
+    public int getBufferCount() { return bufferCount; }
+    public long getLostFrames() {
+        synchronized (bufferLock) {
+            return lostFrames;
+        }
+    }
+}
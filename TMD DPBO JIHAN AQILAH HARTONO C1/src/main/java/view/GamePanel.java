@@ -1,43 +1,150 @@
 package view; // View for the Game Panel
 
+import util.AssetLoader; // Decodes images and sounds on worker threads
+import util.CapacityMonitor; // Finds the entity count at which frames get too slow
+import util.CompatibleImages; // Converts images to the screen's pixel format
+import util.DirtyRegion; // Collects the area that changed between frames
+import util.GameLoop; // Game loop, used for frame counting and measured rates
+import util.GlyphStrip; // Pre-rendered glyphs for HUD text
+import util.QualityController; // Lowers render quality when frames run over budget
+import util.SpriteAtlas; // Pre-scaled sprites, drawn without resampling
+import util.VolatileLayer; // Static layers kept in video memory
+import model.Player; // Player model, for the player's draw size when preloading
+import viewmodel.FrameSnapshot; // Published game state, the only thing the renderer reads
 import viewmodel.GameViewModel; // ViewModel for the game logic and state
-import model.Player; // Model for the player character
+import viewmodel.SkillBallStore; // Skill ball storage, for the ball size
+import viewmodel.SpawnTable; // Spawn table, names the jellyfish sprites
 import javax.swing.*; // Swing components for GUI
-import javax.imageio.ImageIO; // Image loading utilities
 import java.awt.*; // AWT components for graphics
 import java.awt.event.KeyListener;
 import java.awt.event.MouseListener;
+import java.awt.geom.Ellipse2D; // Ellipse2D for circles inside line patterns
+import java.awt.geom.Path2D; // Path2D to stroke many lines in one call
 import java.awt.image.BufferedImage; // BufferedImage for image handling
-import java.io.IOException; // IOException for handling image loading errors
-import java.io.InputStream; // InputStream for reading image files
-import java.util.List; // List for managing collections of objects
+import java.util.HashMap; // HashMap for the sprite of each sprite key
+import java.util.Map; // Map for the sprite of each sprite key
 import java.util.Random; // Random for generating random numbers
+import java.util.concurrent.Future; // Future for a sprite still loading
+import java.util.concurrent.atomic.AtomicBoolean; // Flag for a frame update already queued on the EDT
 
 // GamePanel class to display the game view
 public class GamePanel extends JPanel {
     // ViewModel instance to manage game state
     private GameViewModel viewModel; 
     private JFrame parentFrame;
-
-    // Images
-    private BufferedImage playerImg, jf3, jf4, jf1, jf2, basketImg, bgImg;
+    private GameLoop gameLoop; // Game loop driving this panel (may be null)
+    private FrameSnapshot frame; // Frame being painted, taken from the view model at the start of each paint
+    private final CapacityMonitor capacityMonitor = new CapacityMonitor(); // Frame time against jellyfish count
+    private final QualityController quality; // Render quality tier
+    private BufferedImage lowResolutionFrame; // Scene drawn at reduced size in the lowest quality tier
+
+    // Images drawn at full panel size
+    private BufferedImage bgImg;
     private BufferedImage gameOverImg;
 
-    // Lives images
-    private BufferedImage lives4Img, lives3Img, lives2Img, lives1Img;
-
-    // Static background image
-    private BufferedImage staticBackground;
-    private boolean backgroundGenerated = false;
+    // Sprites, scaled once to their draw size and packed into one atlas (id -1 = draw shapes instead)
+    private final SpriteAtlas sprites = new SpriteAtlas();
+    private final Map<String, Integer> spriteIds = new HashMap<>(); // Sprite per sprite key named in the spawn table
+    private SpawnTable speciesTable; // Spawn table the per-species arrays below were made for
+    private int[] ballSprites; // Sprite per species row (-1 = draw its shapes)
+    private char[][] ballLabels; // Point label per species row
+    private boolean[] rareSpecies; // Species drawn with the yellow label, rarer than RARE_CHANCE
+    private static final double RARE_CHANCE = 0.1; // Share of spawns below which a species counts as rare
+    private int playerSprite = -1, basketSprite = -1;
+    private static final int LIVES_IMAGES = 4; // lives_1 to lives_4
+    private final int[] livesSprites = {-1, -1, -1, -1, -1}; // Sprite per number of lives (0 = none)
+    private static final int BASKET_SIZE = 100; // Basket draw size in the cutscene
+    private static final int CUTSCENE_BAR_WIDTH = 300, CUTSCENE_BAR_HEIGHT = 20; // Cutscene progress bar size
+    private static final String[] IMAGE_NAMES = {"background", "spongebob_player", "basket"}; // Images besides jellyfish and lives
+    private static final int LIVES_HEIGHT = 100, LIVES_MAX_WIDTH = 300; // Lives display draw size
+
+    // Strokes and colours for lines, created once instead of on every frame
+    private static final BasicStroke STROKE_2 = new BasicStroke(2), STROKE_3 = new BasicStroke(3);
+    private static final BasicStroke LASSO_STROKE = new BasicStroke(6, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke LASSO_RETURN_STROKE = new BasicStroke(2, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke WEB_STROKE = new BasicStroke(1.5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke WEB_GLOW_STROKE = new BasicStroke(2.5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final Color LASSO_COLOR = new Color(255, 255, 255, 250), LASSO_RETURN_COLOR = new Color(255, 255, 255, 180);
+    private static final Color LASSO_TIP_COLOR = new Color(255, 105, 180), LASSO_RETURN_TIP_COLOR = new Color(255, 100, 100);
+    private static final Color WEB_COLOR = new Color(255, 255, 255, 200), WEB_GLOW_COLOR = new Color(255, 255, 255, 50);
+    private static final Color BACKGROUND_COLOR = new Color(20, 30, 60); // Behind the background image
+    private static final Color PINK = new Color(255, 105, 180), LIGHT_PINK = new Color(255, 182, 193);
+    private static final Color PLAYER_WEB_COLOR = new Color(255, 105, 180, 120); // Web on the fallback player's suit
+    private static final Color JF3_WEB_COLOR = new Color(255, 255, 255, 180), JF4_SPOT_COLOR = new Color(139, 0, 0);
+    private static final Color JF1_COLOR = new Color(255, 200, 0), JF2_COLOR = new Color(0, 255, 150);
+    private static final Color BALL_GLOW_COLOR = new Color(255, 255, 255, 150); // Behind caught and flying balls
+    private static final Color CUTSCENE_FADE_COLOR = new Color(0, 0, 0, 50), BAR_BACKGROUND_COLOR = new Color(0, 0, 0, 150);
+    private static final Color BASKET_OUTLINE_COLOR = new Color(255, 105, 180, 150);
+
+    // Line patterns, built once around (0, 0) and stroked in one call each
+    private static final Path2D JF3_WEB_PATTERN = radialLines(6, 18, 18); // Spokes on the fallback jf3 ball
+    private static final Path2D PLAYER_LEGS = radialLines(8, 25, 18); // Legs of the fallback player
+    private static final Path2D PLAYER_JOINTS = legJoints(); // Leg joints of the fallback player
+    private Path2D playerWebPattern; // Web on the fallback player's suit, depends on the player size
+    private int playerWebWidth, playerWebHeight; // Player size the web pattern was built for
+    private final Path2D.Float webPath = new Path2D.Float(); // Lasso or cutscene web of the current frame, reused
+
+    // Static background, pre-rendered once and drawn from video memory
+    private VolatileLayer backgroundLayer;
+
+    // Game-over screen: everything but the prompt is pre-rendered into one layer when the game ends
+    private static final long PROMPT_BLINK_NANOS = 500_000_000L; // Prompt shows and hides every half second
+    private VolatileLayer gameOverLayer; // Backdrop, title and stats panel (null until first needed)
+    private int gameOverScore = -1, gameOverCount = -1; // Result the layer shows
+    private boolean gameOverWithBackground; // Layer drawn over the game background (game over) or not (quit)
+    private BufferedImage promptImage; // "PRESS SPACE" prompt with its glow, drawn while it blinks on
+    private int promptX, promptY; // Where the prompt image goes
+    private boolean promptVisible = true; // Blink phase of the current frame
+
+    // HUD fonts, created once
+    private static final Font HUD_FONT = new Font("Pixeloid Mono", Font.BOLD, 16);
+    private static final Font LABEL_FONT = new Font("Pixeloid Mono", Font.BOLD, 14);
+    private static final Font INFO_FONT = new Font("Arial", Font.PLAIN, 12);
+    private static final Font PAUSED_FONT = new Font("Pixeloid Mono", Font.BOLD, 32);
+    private static final Font GAME_OVER_FONT = new Font("Pixeloid Mono", Font.BOLD, 56);
+    private static final Font STATS_HEADER_FONT = new Font("Pixeloid Mono", Font.BOLD, 20);
+    private static final Font STATS_FONT = new Font("Pixeloid Mono", Font.BOLD, 17);
+    private static final Font STATS_HINT_FONT = new Font("Pixeloid Mono", Font.BOLD, 15);
+    private static final int MAX_POINTS_FONT_SIZE = 20; // "+N" text size of a full-size caught ball
+    private static final Font[] POINTS_FONTS = pointsFonts(); // "+N" font per size, index = size
+
+    // HUD text, drawn from pre-rendered glyphs so painting it creates no strings or glyph layouts
+    private final GlyphStrip hudText = new GlyphStrip(HUD_FONT, Color.WHITE); // Score, count and cutscene text
+    private final GlyphStrip infoText = new GlyphStrip(INFO_FONT, Color.WHITE); // Instructions and rates
+    private final GlyphStrip labelText = new GlyphStrip(LABEL_FONT, Color.WHITE); // Ball point labels
+    private final GlyphStrip rareLabelText = new GlyphStrip(LABEL_FONT, Color.YELLOW); // Point label of the rare species
+    private final GlyphStrip pausedText = new GlyphStrip(PAUSED_FONT, Color.YELLOW);
+    private final GlyphStrip[] pointsText = new GlyphStrip[MAX_POINTS_FONT_SIZE + 1]; // "+N" text per font size
+    private final char[] textBuffer = new char[96]; // Reused for text with numbers in it
+    private final char[] ratesText = new char[96]; // Rates line as of the current frame
+    private int ratesLength;
+
+    // Dirty rectangles: each frame repaints only the old and new bounds of what changed
+    private static final int HUD_WIDTH = LIVES_MAX_WIDTH + 10, HUD_HEIGHT = 100; // Lives, score and count
+    private final AtomicBoolean frameRequested = new AtomicBoolean(); // A frame update is queued on the EDT
+    private final DirtyRegion movingBounds = new DirtyRegion(); // Area the moving parts of the current frame cover
+    private final DirtyRegion previousBounds = new DirtyRegion(); // Same for the frame before
+    private final DirtyRegion damage = new DirtyRegion(); // Areas to repaint for the current frame
+    private final Rectangle damageRect = new Rectangle(); // One of the damage areas, as handed to Swing
+    private long shownTick = -1; // Tick of the current frame
+    private int shownState = -1; // Game state flags of the current frame; a change repaints everything
+    private int shownScore, shownCount, shownLives, shownWidth, shownHeight;
+    private long repaintedArea, totalArea; // Pixels repainted, against pixels a full repaint would have cost
 
     // Constructor to initialize the game panel
     public GamePanel(GameViewModel viewModel) { 
         this.viewModel = viewModel;
-        setBackground(new Color(20, 30, 60));
+        // A swarm is a stress test: keep full quality unless asked otherwise, so every capacity sample costs the same per jellyfish
+        quality = QualityController.fromSystemProperties(viewModel.getSpawnSettings().isNormal() ? "auto" : "full");
+        setBackground(BACKGROUND_COLOR);
         setPreferredSize(new Dimension(800, 600));
         setFocusable(true); 
+        for (int size = 1; size <= MAX_POINTS_FONT_SIZE; size++) { // Render every "+N" size up front, not mid-animation
+            pointsText[size] = new GlyphStrip(POINTS_FONTS[size], Color.YELLOW);
+        }
 
-        // Initialize audio manager
+        // Make sure every asset is loading, then initialize audio manager (waits if its sounds are still loading)
+        preloadAssets(viewModel.getSpawnTable(), viewModel.getPlayer().getWidth(), viewModel.getPlayer().getHeight());
         util.AudioManager.getInstance();
         // START BACKGROUND MUSIC setelah semua initialized
         startBackgroundMusic();
@@ -53,127 +160,372 @@ public class GamePanel extends JPanel {
         this.parentFrame = frame;
     }
 
+    // Method to set the game loop, used to count painted frames and show measured rates
+    public void setGameLoop(GameLoop gameLoop) {
+        this.gameLoop = gameLoop;
+    }
+
     //IMAGE LOADING SYSTEM
 
-    // Method to load images and handle loading errors
+    /**
+     * Start decoding every image and sound the game uses on the asset loader's worker
+     * threads, sprites already scaled to their draw size. Called at startup so the assets
+     * are ready before the first game; calling it again only returns what is already loading
+     */
+    public static void preloadAssets() {
+        Player player = new Player(0, 0); // For the player's draw size
+        preloadAssets(SpawnTable.getDefault(), player.getWidth(), player.getHeight());
+    }
+
+    // Method to start loading the assets for a game with the given spawn table and player size
+    private static void preloadAssets(SpawnTable spawnTable, int playerWidth, int playerHeight) {
+        AssetLoader assets = AssetLoader.getShared();
+        assets.loadImage("background");
+        assets.loadSprite("spongebob_player", playerWidth, playerHeight);
+        assets.loadSprite("basket", BASKET_SIZE, BASKET_SIZE);
+        for (int species = 0; species < spawnTable.size(); species++) {
+            assets.loadSprite(spawnTable.getEntry(species).getSpriteKey(), SkillBallStore.BALL_SIZE, SkillBallStore.BALL_SIZE);
+        }
+        for (int lives = 1; lives <= LIVES_IMAGES; lives++) {
+            loadLivesSprite(lives);
+        }
+        assets.load("sounds", util.AudioManager::getInstance);
+    }
+
+    // Method to start loading a lives image scaled for the HUD; its size depends on the image's shape
+    private static Future<BufferedImage> loadLivesSprite(int lives) {
+        String name = "lives_" + lives;
+        return AssetLoader.getShared().load("/images/" + name + "@hud", () -> {
+            BufferedImage img = AssetLoader.decodeImage(name);
+            if (img == null || img.getWidth() <= 0 || img.getHeight() <= 0) {
+                return null;
+            }
+            Dimension size = getLivesDrawSize(img.getWidth(), img.getHeight());
+            return SpriteAtlas.scale(img, size.width, size.height);
+        });
+    }
+
+    // Method to collect the loaded images and handle loading errors
     private void loadImages() {
         System.out.println("=== LOADING IMAGES ===");
+        AssetLoader assets = AssetLoader.getShared();
 
-        try { // Define image formats to try
-            String[] imageFormats = {".png", ".jpg", ".jpeg"};
-
+        try {
             // Load existing images
-            bgImg = loadImageWithFormats("background", imageFormats);
-            playerImg = loadImageWithFormats("spongebob_player", imageFormats);
-            jf3 = loadImageWithFormats("jf3", imageFormats);
-            jf4 = loadImageWithFormats("jf4", imageFormats);
-            jf1 = loadImageWithFormats("jf1", imageFormats);
-            jf2 = loadImageWithFormats("jf2", imageFormats);
-            basketImg = loadImageWithFormats("basket", imageFormats);
-            gameOverImg = loadImageWithFormats("background", imageFormats);
-
-            // Load 4 different lives images
-            lives4Img = loadImageWithFormats("lives_4", imageFormats); // 4 hati penuh
-            lives3Img = loadImageWithFormats("lives_3", imageFormats); // 3 hati penuh, 1 kosong
-            lives2Img = loadImageWithFormats("lives_2", imageFormats); // 2 hati penuh, 2 kosong
-            lives1Img = loadImageWithFormats("lives_1", imageFormats); // 1 hati penuh, 3 kosong
+            bgImg = assets.getImage("background");
+            gameOverImg = bgImg; // The game over screen uses the same picture
+            BufferedImage playerImg = assets.getSprite("spongebob_player",
+                    viewModel.getPlayer().getWidth(), viewModel.getPlayer().getHeight());
+            BufferedImage basketImg = assets.getSprite("basket", BASKET_SIZE, BASKET_SIZE);
+
+            // Sprites come already scaled to the size they are drawn at
+            playerSprite = sprites.addScaled(playerImg);
+            basketSprite = sprites.addScaled(basketImg);
+
+            // Jellyfish sprites are named in the spawn table; species naming the same image share it
+            SpawnTable spawnTable = viewModel.getSpawnTable();
+            for (int species = 0; species < spawnTable.size(); species++) {
+                String key = spawnTable.getEntry(species).getSpriteKey();
+                if (!spriteIds.containsKey(key)) {
+                    BufferedImage img = assets.getSprite(key, SkillBallStore.BALL_SIZE, SkillBallStore.BALL_SIZE);
+                    spriteIds.put(key, sprites.addScaled(img));
+                    System.out.println(key + ": " + (img != null ? "LOADED" : "FAILED"));
+                }
+            }
+
+            // Load 4 different lives images (lives_1 = 1 hati penuh, 3 kosong ... lives_4 = 4 hati penuh)
+            for (int lives = 1; lives <= LIVES_IMAGES; lives++) {
+                BufferedImage img = AssetLoader.await(loadLivesSprite(lives), "lives_" + lives);
+                livesSprites[lives] = sprites.addScaled(img);
+                System.out.println("Lives " + lives + ": " + (img != null ? "LOADED" : "FAILED"));
+            }
 
             // Report loading status
             System.out.println("Background: " + (bgImg != null ? "LOADED" : "FAILED"));
             System.out.println("Player: " + (playerImg != null ? "LOADED" : "FAILED"));
-            System.out.println("Jf3: " + (jf3 != null ? "LOADED" : "FAILED"));
-            System.out.println("Jf4: " + (jf4 != null ? "LOADED" : "FAILED"));
             System.out.println("Basket: " + (basketImg != null ? "LOADED" : "FAILED"));
             System.out.println("Game Over BG: " + (gameOverImg != null ? "LOADED" : "FAILED"));
-            System.out.println("Lives 4: " + (lives4Img != null ? "LOADED" : "FAILED"));
-            System.out.println("Lives 3: " + (lives3Img != null ? "LOADED" : "FAILED"));
-            System.out.println("Lives 2: " + (lives2Img != null ? "LOADED" : "FAILED"));
-            System.out.println("Lives 1: " + (lives1Img != null ? "LOADED" : "FAILED"));
 
         } catch (Exception e) { // Handle any exceptions during image loading
             System.out.println("Error loading images: " + e.getMessage());
             System.out.println("Using shapes instead");
         }
+        sprites.pack(); // Whatever loaded goes into the atlas, the rest is drawn with shapes
+        bindSpecies(viewModel.getSpawnTable());
 
         System.out.println("=== END LOADING IMAGES ===");
     }
 
-    // Method to load images with multiple formats
-    private BufferedImage loadImageWithFormats(String baseName, String[] formats) {
-        for (String format : formats) {
-            String fileName = baseName + format;
-            BufferedImage img = loadImage(fileName);
-            if (img != null) {
-                System.out.println("SUCCESS: Loaded " + fileName);
-                return img;
-            }
+    // Method to look up the sprite, label and label colour of every species in a spawn table
+    private void bindSpecies(SpawnTable spawnTable) {
+        int n = spawnTable.size();
+        ballSprites = new int[n];
+        ballLabels = new char[n][];
+        rareSpecies = new boolean[n];
+        for (int species = 0; species < n; species++) {
+            SpawnTable.Entry entry = spawnTable.getEntry(species);
+            Integer sprite = spriteIds.get(entry.getSpriteKey());
+            ballSprites[species] = sprite != null ? sprite : -1; // Images not loaded at startup are drawn with shapes
+            ballLabels[species] = Integer.toString(entry.getPoints()).toCharArray();
+            rareSpecies[species] = spawnTable.getChance(species) < RARE_CHANCE;
         }
-        System.out.println("FAILED: Could not find " + baseName + " with any format");
-        return null;
+        speciesTable = spawnTable;
     }
 
-    // Method to load an image from resources
-    private BufferedImage loadImage(String path) {
-        try {
-            System.out.println("Attempting to load: /images/" + path);
-
-            // Method 1: Try getResourceAsStream
-            InputStream stream = getClass().getResourceAsStream("/images/" + path);
-            if (stream != null) { // If the image is found in resources
-                BufferedImage img = ImageIO.read(stream); // Read the image from the stream
-                // Print success message
-                System.out.println("SUCCESS: Loaded " + path + " via getResourceAsStream");
-                return img;
-            }
+    //MAIN RENDER LOOP
 
-            // Method 2: Try getResource
-            java.net.URL imageURL = getClass().getResource("/images/" + path);
-            if (imageURL != null) { // If the image is found in resources
-                BufferedImage img = ImageIO.read(imageURL);
-                System.out.println("SUCCESS: Loaded " + path + " via getResource");
-                return img;
-            }
+    @Override // Method to paint the game panel
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        render((Graphics2D) g);
+    }
+
+    /**
+     * Draw the current frame - the whole drawing path of the panel, shared by Swing painting
+     * and by GameCanvas, which calls it from the game loop thread in active rendering mode
+     * @param g2d Graphics to draw on, already cleared to the background colour
+     */
+    public void render(Graphics2D g2d) {
+        // Draw the frame taken by updateFrame() - no lock, the live model is never touched
+        long paintStart = System.nanoTime();
+        if (frame == null) {
+            updateFrame(); // Painted before the game loop asked for a frame
+        }
+        float scale = quality.getRenderScale();
+        if (scale < 1f && frame.isGameRunning()) {
+            renderLowResolution(g2d, scale);
+        } else {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                    quality.isAntialiasing() ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+            renderGame(g2d);
+        }
+
+        // Count this frame for the measured frame rate
+        if (gameLoop != null) {
+            gameLoop.markFrame();
+            recordFrameTime(System.nanoTime() - paintStart);
+        }
+    }
+
+    // Method for the game loop to ask for the next frame, from any thread
+    public void requestFrame() {
+        if (frameRequested.compareAndSet(false, true)) { // At most one update waits on the EDT
+            SwingUtilities.invokeLater(() -> {
+                frameRequested.set(false);
+                DirtyRegion areas = updateFrame();
+                for (int i = 0; i < areas.getCount(); i++) {
+                    // Painted one by one: repaint() would merge them into one box spanning the gaps between them
+                    paintImmediately(areas.getRectangle(i, damageRect));
+                }
+            });
+        }
+    }
 
-            // Method 3: Try class loader
-            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-            imageURL = classLoader.getResource("images/" + path); // Use class loader to find the image
-            if (imageURL != null) { // If the image is found using class loader
-                BufferedImage img = ImageIO.read(imageURL);
-                System.out.println("SUCCESS: Loaded " + path + " via ClassLoader");
-                return img;
+    /**
+     * Take the newest published frame and work out what must be repainted to show it:
+     * the old and new bounds of everything that moved, the HUD if its text changed, and
+     * the whole panel when the screen changed as a whole. Called on the thread that renders:
+     * the EDT, or the game loop thread in active rendering mode
+     * @return Areas to repaint (empty if nothing visible changed), valid until the next call
+     */
+    public DirtyRegion updateFrame() {
+        frame = viewModel.getLatestFrame();
+        if (frame.getSpawnTable() != null && frame.getSpawnTable() != speciesTable) {
+            bindSpecies(frame.getSpawnTable()); // The game switched tables, e.g. to play a replay
+        }
+        damage.clear();
+        int width = getWidth(), height = getHeight();
+        boolean paused = gameLoop != null && gameLoop.getClock().isPaused();
+        int state = (frame.isGameRunning() ? 1 : 0) | (frame.isGameOver() ? 2 : 0)
+                | (frame.isCutsceneActive() ? 4 : 0) | (paused ? 8 : 0) | quality.getTier().ordinal() << 4;
+        boolean newTick = frame.getTick() != shownTick;
+        boolean full = state != shownState || width != shownWidth || height != shownHeight;
+
+        // Moving parts: the player, balls, lasso and caught ball animations, or the cutscene
+        if (newTick || full) {
+            movingBounds.clear();
+            addMovingBounds(movingBounds);
+            if (!frame.isGameRunning() || quality.getRenderScale() < 1f) {
+                full |= newTick; // Low resolution scales everything, so any change shows everywhere
             }
+            damage.add(previousBounds);
+            damage.add(movingBounds);
+            previousBounds.set(movingBounds);
+        }
 
-            return null; // If all methods fail, return null
+        // HUD text, only when it changed
+        if (frame.getScore() != shownScore || frame.getCount() != shownCount || frame.getLives() != shownLives) {
+            damage.add(0, 0, HUD_WIDTH, HUD_HEIGHT);
+        }
+        int oldRatesWidth = infoText.width(ratesText, 0, ratesLength);
+        if (updateRatesText()) {
+            int ratesWidth = Math.max(oldRatesWidth, infoText.width(ratesText, 0, ratesLength));
+            damage.add(15, getRatesBaseline() - infoText.getAscent() - 3, ratesWidth + 6, infoText.getHeight() + 6);
+        }
+
+        // Blinking game-over prompt
+        boolean prompt = (System.nanoTime() / PROMPT_BLINK_NANOS) % 2 == 0;
+        if (prompt != promptVisible && !frame.isGameRunning() && promptImage != null) {
+            damage.add(promptX, promptY, promptImage.getWidth(), promptImage.getHeight());
+        }
+        promptVisible = prompt;
 
-        } catch (IOException e) {
-            System.out.println("ERROR: Loading " + path + " - " + e.getMessage());
-            return null;
+        if (full) {
+            damage.add(0, 0, width, height);
         }
+        damage.clipTo(width, height);
+
+        shownTick = frame.getTick();
+        shownState = state;
+        shownScore = frame.getScore();
+        shownCount = frame.getCount();
+        shownLives = frame.getLives();
+        shownWidth = width;
+        shownHeight = height;
+        repaintedArea += damage.getArea();
+        totalArea += (long) width * height;
+        return damage;
     }
 
-    //MAIN RENDER LOOP
+    // Method to add the bounds of everything that moves in the current frame, as drawn
+    private void addMovingBounds(DirtyRegion bounds) {
+        if (!frame.isGameRunning()) return;
+
+        // Cutscene: the rest of the game stands still; the fade over it is the same on every frame
+        if (frame.isCutsceneActive()) {
+            int handX = getCutsceneHandX(), handY = getCutsceneHandY();
+            int ballX = (int) frame.getCutsceneBallX(), ballY = (int) frame.getCutsceneBallY();
+            bounds.add(Math.min(handX, ballX) - 3, Math.min(handY, ballY) - 3,
+                    Math.abs(ballX - handX) + 7, Math.abs(ballY - handY) + 7); // Web line and its glow
+            bounds.add(ballX - 37, ballY - 37, 74, 74); // Flying ball and its glow
+            bounds.add(ballX + 28, ballY - 42, 100, 40); // "+N" text
+            bounds.add(getCutsceneBarX() - 2, getCutsceneBarY() - 2, CUTSCENE_BAR_WIDTH + 4, CUTSCENE_BAR_HEIGHT + 4);
+            return;
+        }
 
-    @Override // Method to paint the game panel
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        // Player, with room for the hood points of the fallback drawing
+        int playerWidth = playerSprite >= 0 ? sprites.getWidth(playerSprite) : frame.getPlayerWidth();
+        int playerHeight = playerSprite >= 0 ? sprites.getHeight(playerSprite) : frame.getPlayerHeight();
+        bounds.add(frame.getPlayerX() - 4, frame.getPlayerY() - 16,
+                Math.max(playerWidth, frame.getPlayerWidth()) + 8, Math.max(playerHeight, frame.getPlayerHeight()) + 20);
+
+        // Balls with their point labels above them
+        int size = frame.getBallSize();
+        int labelTop = 5 + labelText.getAscent() + 4;
+        int ballWidth = Math.max(size, 5 + labelText.width("00000")) + 4;
+        for (int b = 0; b < frame.getBallCount(); b++) {
+            bounds.add((int) frame.getBallX(b) - 2, (int) frame.getBallY(b) - labelTop, ballWidth, size + labelTop + 2);
+        }
+
+        // Lasso line, round caps and tip (radius 6, outlined with the 6 pixel lasso stroke, plus anti-aliasing)
+        if (frame.isLassoActive()) {
+            int startX = Math.round(frame.getLassoOriginX()), startY = Math.round(frame.getLassoOriginY());
+            int tipX = Math.round(frame.getLassoTipX()), tipY = Math.round(frame.getLassoTipY());
+            bounds.add(Math.min(startX, tipX) - 10, Math.min(startY, tipY) - 10,
+                    Math.abs(tipX - startX) + 21, Math.abs(tipY - startY) + 21);
+        }
+
+        // Caught ball animations: glow, ball and the "+N" text up and to the right
+        for (int a = 0; a < frame.getAnimationCount(); a++) {
+            int x = (int) frame.getAnimationX(a), y = (int) frame.getAnimationY(a);
+            int half = (int) (50 * frame.getAnimationScale(a)) / 2 + 10;
+            bounds.add(x - half, y - half, 2 * half, 2 * half);
+            bounds.add(x + 18, y - 45, 100, 40);
+        }
+    }
+
+    // Method to rebuild the rates line, returning true if it changed
+    private boolean updateRatesText() {
+        if (gameLoop == null) return false;
+        int length = GlyphStrip.append(textBuffer, 0, "FPS: ");
+        length = GlyphStrip.append(textBuffer, length, Math.round(gameLoop.getFramesPerSecond()));
+        length = GlyphStrip.append(textBuffer, length, " | TPS: ");
+        length = GlyphStrip.append(textBuffer, length, Math.round(gameLoop.getTicksPerSecond()));
+        length = GlyphStrip.append(textBuffer, length, " | Entities: ");
+        length = GlyphStrip.append(textBuffer, length, frame.getBallCount());
+        if (capacityMonitor.hasCeiling()) {
+            length = GlyphStrip.append(textBuffer, length, " | 16 ms at ");
+            length = GlyphStrip.append(textBuffer, length, capacityMonitor.getCeilingEntities());
+        }
 
+        boolean changed = length != ratesLength;
+        for (int i = 0; i < length && !changed; i++) {
+            changed = textBuffer[i] != ratesText[i];
+        }
+        if (changed) {
+            System.arraycopy(textBuffer, 0, ratesText, 0, length);
+            ratesLength = length;
+        }
+        return changed;
+    }
+
+    // Method to get the baseline of the rates line, one line above the instructions so the two never overlap
+    private int getRatesBaseline() {
+        return getHeight() - 15 - infoText.getHeight();
+    }
+
+    // Method to get the share of the panel repainted per frame so far (1 = always everything)
+    public double getRepaintedShare() {
+        return totalArea == 0 ? 1 : (double) repaintedArea / totalArea;
+    }
+
+    // Method to draw the scene into a smaller image and scale it up to the panel
+    private void renderLowResolution(Graphics2D g2d, float scale) {
+        int width = Math.max(1, Math.round(getWidth() * scale));
+        int height = Math.max(1, Math.round(getHeight() * scale));
+        if (lowResolutionFrame == null || lowResolutionFrame.getWidth() != width
+                || lowResolutionFrame.getHeight() != height) {
+            lowResolutionFrame = CompatibleImages.create(width, height, Transparency.OPAQUE);
+        }
+        Graphics2D low = lowResolutionFrame.createGraphics();
+        low.setColor(getBackground());
+        low.fillRect(0, 0, width, height);
+        low.scale(scale, scale); // Draw in panel coordinates as usual
+        low.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        renderGame(low);
+        low.dispose();
+        g2d.drawImage(lowResolutionFrame, 0, 0, getWidth(), getHeight(), null);
+    }
+
+    // Method to add a frame's cost (painting plus the latest tick) to the capacity monitor and quality controller
+    private void recordFrameTime(long paintNanos) {
+        if (!frame.isGameRunning() || gameLoop.getClock().isPaused()) return;
+        long frameNanos = paintNanos + gameLoop.getLastTickDurationNanos();
+        // Capacity is only measured at the quality the game started with; a cheaper tier would raise the ceiling
+        if (quality.getChangeCount() == 0 && capacityMonitor.record(frame.getBallCount(), frameNanos)) {
+            System.out.println(capacityMonitor + " at " + quality.getTier() + " quality");
+        }
+        if (quality.record(frameNanos)) {
+            System.out.println(quality);
+        }
+    }
+
+    // Method to get the quality controller, for the end-of-session report
+    public QualityController getQualityController() {
+        return quality;
+    }
+
+    // Method to get the capacity monitor, for the end-of-session report
+    public CapacityMonitor getCapacityMonitor() {
+        return capacityMonitor;
+    }
+
+    // Method to render the whole game scene for the current state
+    private void renderGame(Graphics2D g2d) {
         // Check for game over first
-        if (viewModel.isGameOver()) {
-            drawBackground(g2d); // Draw background first
-            drawGameOverScreen(g2d); // Draw game over screen to overlay background
+        if (frame.isGameOver()) {
+            drawGameOverScreen(g2d); // Game over screen, over the background (both in one layer)
             return;
         }
 
-        if (!viewModel.isGameRunning()) {
+        if (!frame.isGameRunning()) {
             drawGameOverScreen(g2d); // Draw game over screen if game is not running
             return;
         }
 
         drawBackground(g2d); // Draw background first
 
-        if (viewModel.getShootingCutscene() != null) {
+        if (frame.isCutsceneActive()) {
             drawPlayer(g2d); // Draw player in cutscene
             drawSkillBalls(g2d); // Draw skill balls in cutscene
             drawBasketForCutscene(g2d); // Draw basket in cutscene
@@ -190,14 +542,11 @@ public class GamePanel extends JPanel {
 
     // Background drawing tanpa random
     private void drawBackground(Graphics2D g2d) {
-        if (backgroundGenerated && staticBackground != null) {
-            // Draw pre-generated static background
-            g2d.drawImage(staticBackground, 0, 0, null);
-        } else {
+        if (backgroundLayer == null) {
             // Fallback jika background belum di-generate
             generateStaticBackground();
-            g2d.drawImage(staticBackground, 0, 0, null);
         }
+        backgroundLayer.draw(g2d, 0, 0); // Restores itself if video memory was lost
     }
 
     // Method untuk start background music
@@ -235,222 +584,172 @@ public class GamePanel extends JPanel {
 
     // Method to draw player character
     private void drawPlayer(Graphics2D g2d) {
-        Player player = viewModel.getPlayer(); // Get the player model from the view model
+        int playerX = frame.getPlayerX(); // Player position and size as of the published frame
+        int playerY = frame.getPlayerY();
+        int playerWidth = frame.getPlayerWidth();
+        int playerHeight = frame.getPlayerHeight();
 
-        if (playerImg != null) { // If player image is loaded, draw it
-            g2d.drawImage(playerImg, player.getX(), player.getY(),
-            player.getWidth(), player.getHeight(), null);
+        if (playerSprite >= 0) { // If player image is loaded, draw its pre-scaled sprite
+            sprites.draw(g2d, playerSprite, playerX, playerY);
         } else { // If image not loaded, draw a simple shape
             // Enhanced larger JF4-Gwen character
-            int centerX = player.getX() + player.getWidth() / 2;
-            int centerY = player.getY() + player.getHeight() / 2;
+            int centerX = playerX + playerWidth / 2;
+            int centerY = playerY + playerHeight / 2;
 
             // Main body (white with pink accents) - LARGER
             g2d.setColor(Color.WHITE);
-            g2d.fillOval(player.getX(), player.getY(), player.getWidth(), player.getHeight());
+            g2d.fillOval(playerX, playerY, playerWidth, playerHeight);
 
             // Pink hood/mask accents - LARGER
-            g2d.setColor(new Color(255, 105, 180));
-            g2d.fillOval(player.getX() + 8, player.getY() + 8,
-                    player.getWidth() - 16, player.getHeight() - 16);
+            g2d.setColor(PINK);
+            g2d.fillOval(playerX + 8, playerY + 8,
+                    playerWidth - 16, playerHeight - 16);
 
             // Eyes (white with pink outline) - LARGER
             g2d.setColor(Color.WHITE);
-            g2d.fillOval(player.getX() + 15, player.getY() + 20, 18, 12);
-            g2d.fillOval(player.getX() + 45, player.getY() + 20, 18, 12);
+            g2d.fillOval(playerX + 15, playerY + 20, 18, 12);
+            g2d.fillOval(playerX + 45, playerY + 20, 18, 12);
 
             // Eye outline - THICKER
-            g2d.setColor(new Color(255, 105, 180));
-            g2d.setStroke(new BasicStroke(3));
-            g2d.drawOval(player.getX() + 15, player.getY() + 20, 18, 12);
-            g2d.drawOval(player.getX() + 45, player.getY() + 20, 18, 12);
+            g2d.setColor(PINK);
+            g2d.setStroke(STROKE_3);
+            g2d.drawOval(playerX + 15, playerY + 20, 18, 12);
+            g2d.drawOval(playerX + 45, playerY + 20, 18, 12);
 
             // JF4 logo on chest (LARGER AND MORE DETAILED)
-            g2d.setColor(new Color(255, 105, 180));
-            g2d.setStroke(new BasicStroke(4));
+            g2d.setColor(PINK);
 
             // JF4 body (larger)
             g2d.fillOval(centerX - 6, centerY - 4, 12, 8);
 
-            // JF4 legs (8 legs with joints) - LONGER
-            g2d.setStroke(new BasicStroke(3));
-            for (int i = 0; i < 8; i++) {
-                double angle = i * Math.PI / 4;
-                int x2 = centerX + (int)(25 * Math.cos(angle));
-                int y2 = centerY + (int)(18 * Math.sin(angle));
-                g2d.drawLine(centerX, centerY, x2, y2);
-
-                // Leg joints - BIGGER
-                int midX = centerX + (int)(12 * Math.cos(angle));
-                int midY = centerY + (int)(8 * Math.sin(angle));
-                g2d.fillOval(midX - 2, midY - 2, 4, 4);
-            }
-
-            // Web pattern on suit (more detailed and larger)
-            g2d.setColor(new Color(255, 105, 180, 120));
-            g2d.setStroke(new BasicStroke(2));
-
-            // Radial web pattern - LARGER
-            for (int i = 0; i < 8; i++) {
-                double angle = i * Math.PI / 4;
-                int x2 = centerX + (int)(35 * Math.cos(angle));
-                int y2 = centerY + (int)(25 * Math.sin(angle));
-                if (x2 >= player.getX() && x2 <= player.getX() + player.getWidth() &&
-                        y2 >= player.getY() && y2 <= player.getY() + player.getHeight()) {
-                    g2d.drawLine(centerX, centerY, x2, y2);
-                }
-            }
-
-            // Concentric web circles - BIGGER
-            for (int r = 12; r <= 35; r += 8) {
-                g2d.drawOval(centerX - r, centerY - r, r*2, r*2);
+            // JF4 legs (8 legs with joints) - LONGER, each set in one call
+            g2d.translate(centerX, centerY);
+            g2d.setStroke(STROKE_3);
+            g2d.draw(PLAYER_LEGS);
+            g2d.fill(PLAYER_JOINTS);
+
+            // Web pattern on suit (more detailed and larger): radial lines and concentric circles
+            if (playerWebPattern == null || playerWebWidth != playerWidth || playerWebHeight != playerHeight) {
+                playerWebPattern = playerWebPattern(playerWidth, playerHeight);
+                playerWebWidth = playerWidth;
+                playerWebHeight = playerHeight;
             }
+            g2d.setColor(PLAYER_WEB_COLOR);
+            g2d.setStroke(STROKE_2);
+            g2d.draw(playerWebPattern);
+            g2d.translate(-centerX, -centerY);
 
             // Add JF4-Gwen signature hood points - LARGER
-            g2d.setColor(new Color(255, 105, 180));
-            g2d.setStroke(new BasicStroke(3));
+            g2d.setColor(PINK);
+            g2d.setStroke(STROKE_3);
 
             // Hood spikes - BIGGER
-            int[] hoodX = {player.getX() + 20, player.getX() + 12, player.getX() + 28};
-            int[] hoodY = {player.getY(), player.getY() - 12, player.getY() + 8};
+            int[] hoodX = {playerX + 20, playerX + 12, playerX + 28};
+            int[] hoodY = {playerY, playerY - 12, playerY + 8};
             g2d.fillPolygon(hoodX, hoodY, 3);
 
-            int[] hoodX2 = {player.getX() + 60, player.getX() + 68, player.getX() + 52};
-            int[] hoodY2 = {player.getY(), player.getY() - 12, player.getY() + 8};
+            int[] hoodX2 = {playerX + 60, playerX + 68, playerX + 52};
+            int[] hoodY2 = {playerY, playerY - 12, playerY + 8};
             g2d.fillPolygon(hoodX2, hoodY2, 3);
         }
     }
 
     private void drawSkillBalls(Graphics2D g2d) { // Draw skill balls in the game
-        // Check if skill balls are empty
-        for (GameViewModel.SkillBall ball : viewModel.getSkillBalls()) {
-            int centerX = ball.getX() + ball.getWidth() / 2; // Calculate center X position
-            int centerY = ball.getY() + ball.getHeight() / 2; // Calculate center Y position
-
-            // Draw the ball based on its type
-            if (ball.getType() == GameViewModel.BallType.JF3) { // JF3 ball
-                if (jf3 != null) { // If jf3 image is loaded, draw it
-                    g2d.drawImage(jf3, ball.getX(), ball.getY(),
-                         ball.getWidth(), ball.getHeight(), null);
-                } else { // Fallback drawing for jf3
-                    g2d.setColor(new Color(255, 182, 193));
-                    g2d.fillOval(ball.getX(), ball.getY(), ball.getWidth(), ball.getHeight());
-
-                    // BIGGER heart
-                    g2d.setColor(new Color(255, 105, 180));
-                    drawHeart(g2d, centerX, centerY, 12);
-
-                    // Web pattern overlay - MORE VISIBLE
-                    g2d.setColor(new Color(255, 255, 255, 180));
-                    g2d.setStroke(new BasicStroke(2));
-                    for (int i = 0; i < 6; i++) {
-                        double angle = i * Math.PI / 3;
-                        int x2 = centerX + (int)(18 * Math.cos(angle));
-                        int y2 = centerY + (int)(18 * Math.sin(angle));
-                        g2d.drawLine(centerX, centerY, x2, y2);
-                    }
-                }
-
-                // Text for points
-                g2d.setColor(Color.WHITE);
-                g2d.setFont(new Font("Pixeloid Mono", Font.BOLD, 14));
-                g2d.drawString("10", ball.getX() + 5, ball.getY() - 5);
-
-            } else if (ball.getType() == GameViewModel.BallType.JF4) { // JF4 ball
-                if (jf4 != null) { // If jf4 image is loaded, draw it
-                    g2d.drawImage(jf4, ball.getX(), ball.getY(),
-                            ball.getWidth(), ball.getHeight(), null);
-                } else {
-                    // Fallback JF4 drawing
-                    g2d.setColor(Color.BLACK);
-                    g2d.fillOval(ball.getX(), ball.getY(), ball.getWidth(), ball.getHeight());
-                    g2d.setColor(new Color(139, 0, 0));
-                    g2d.fillOval(centerX - 10, centerY - 6, 20, 12);
-                }
-
-                // BIGGER points text
-                g2d.setColor(Color.YELLOW);
-                g2d.setFont(new Font("Pixeloid Mono", Font.BOLD, 14));
-                g2d.drawString("100", ball.getX() + 5, ball.getY() - 5);
-
-            } else if (ball.getType() == GameViewModel.BallType.JF1) { //jf1
-                if (jf1 != null) { // If jf1 image is loaded, draw it
-                    g2d.drawImage(jf1, ball.getX(), ball.getY(),
-                            ball.getWidth(), ball.getHeight(), null);
-                } else {
-                    // Fallback for jf1
-                    g2d.setColor(new Color(255, 200, 0));
-                    g2d.fillOval(ball.getX(), ball.getY(), ball.getWidth(), ball.getHeight());
-                }
-
-                // BIGGER points text
-                g2d.setColor(Color.WHITE);
-                g2d.setFont(new Font("Pixeloid Mono", Font.BOLD, 14));
-                g2d.drawString("20", ball.getX() + 5, ball.getY() - 5);
-
-            } else { //jf2
-                if (jf2 != null) { // If jf2 image is loaded, draw it
-                    g2d.drawImage(jf2, ball.getX(), ball.getY(),
-                            ball.getWidth(), ball.getHeight(), null);
-                } else {
-                    // Fallback for jf2
-                    g2d.setColor(new Color(0, 255, 150));
-                    g2d.fillOval(ball.getX(), ball.getY(), ball.getWidth(), ball.getHeight());
-                }
+        // Read the copied ball columns, one index per ball
+        int ballWidth = frame.getBallSize();
+        int ballHeight = frame.getBallSize();
+        boolean useSprites = quality.isSpritesEnabled(); // Plain shapes in the lower quality tiers
+        for (int b = 0; b < frame.getBallCount(); b++) {
+            int ballX = (int) frame.getBallX(b);
+            int ballY = (int) frame.getBallY(b);
+            if (!g2d.hitClip(ballX - 2, ballY - 25, ballWidth + 45, ballHeight + 27)) {
+                continue; // Outside the area being repainted
+            }
+            int species = frame.getBallSpecies(b);
+            int sprite = useSprites ? ballSprites[species] : -1; // If the species' image is loaded, draw its sprite
+            if (sprite >= 0) {
+                sprites.draw(g2d, sprite, ballX, ballY);
+            } else {
+                drawFallbackBall(g2d, speciesTable.getEntry(species).getFallbackType(), ballX, ballY, ballWidth, true);
+            }
 
-                // BIGGER points text
-                g2d.setColor(Color.WHITE);
-                g2d.setFont(new Font("Pixeloid Mono", Font.BOLD, 14));
-                g2d.drawString("30", ball.getX() + 5, ball.getY() - 5);
+            // Text for points, in yellow for the rare species
+            drawBallLabel(g2d, rareSpecies[species] ? rareLabelText : labelText, species, ballX + 5, ballY - 5);
+        }
+    }
 
+    /**
+     * Draw a ball with shapes, for when its sprite is missing or sprites are off
+     * @param type Built-in species to look like, or null for a species only the spawn table knows
+     * @param pattern Whether to draw the web spokes on the jf3 ball
+     */
+    private void drawFallbackBall(Graphics2D g2d, GameViewModel.BallType type, int x, int y, int size, boolean pattern) {
+        int centerX = x + size / 2; // Calculate center X position
+        int centerY = y + size / 2; // Calculate center Y position
+        if (type == GameViewModel.BallType.JF3) { // Fallback drawing for jf3
+            g2d.setColor(LIGHT_PINK);
+            g2d.fillOval(x, y, size, size);
+
+            // BIGGER heart
+            g2d.setColor(PINK);
+            drawHeart(g2d, centerX, centerY, 12);
+
+            // Web pattern overlay - MORE VISIBLE
+            if (pattern) {
+                g2d.setColor(JF3_WEB_COLOR);
+                g2d.setStroke(STROKE_2);
+                g2d.translate(centerX, centerY);
+                g2d.draw(JF3_WEB_PATTERN);
+                g2d.translate(-centerX, -centerY);
             }
+        } else if (type == GameViewModel.BallType.JF4) { // Fallback JF4 drawing
+            g2d.setColor(Color.BLACK);
+            g2d.fillOval(x, y, size, size);
+            g2d.setColor(JF4_SPOT_COLOR);
+            g2d.fillOval(centerX - 10, centerY - 6, 20, 12);
+        } else if (type == GameViewModel.BallType.JF1) { // Fallback for jf1
+            g2d.setColor(JF1_COLOR);
+            g2d.fillOval(x, y, size, size);
+        } else { // Fallback for jf2 and for species only the spawn table knows
+            g2d.setColor(JF2_COLOR);
+            g2d.fillOval(x, y, size, size);
         }
     }
 
     // Method to draw lasso
     private void drawWebLasso(Graphics2D g2d) { 
-        // Check if lasso points are available
-        List<Point> lassoPoints = viewModel.getLassoPoints();
-
-        // If there are no lasso points, return early
-        if (!lassoPoints.isEmpty()) {
+        // If the lasso is not out, there is nothing to draw
+        if (frame.isLassoActive()) {
             // Change color based on state
-            if (viewModel.isLassoReturning()) { 
+            if (frame.isLassoReturning()) { 
                 // Returning lasso color with transparency
-                g2d.setColor(new Color(255, 255, 255, 180)); // Putih dengan transparansi
-                g2d.setStroke(new BasicStroke(2, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+                g2d.setColor(LASSO_RETURN_COLOR); // Putih dengan transparansi
+                g2d.setStroke(LASSO_RETURN_STROKE);
             } else {
                 // Normal white color
-                g2d.setColor(new Color(255, 255, 255, 250));
-                g2d.setStroke(new BasicStroke(6, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-            }
-
-            // Draw the lasso points
-            for (int i = 0; i < lassoPoints.size() - 1; i++) {
-                Point p1 = lassoPoints.get(i);
-                Point p2 = lassoPoints.get(i + 1);
-                g2d.drawLine(p1.x, p1.y, p2.x, p2.y);
+                g2d.setColor(LASSO_COLOR);
+                g2d.setStroke(LASSO_STROKE);
             }
 
-            // Draw the lasso points again for thicker lines
-            for (int i = 0; i < lassoPoints.size() - 1; i++) {
-                Point p1 = lassoPoints.get(i);
-                Point p2 = lassoPoints.get(i + 1);
-                g2d.drawLine(p1.x, p1.y, p2.x, p2.y);
-            }
-
-            // Draw end point where user clicked
-            if (!lassoPoints.isEmpty()) {
-                Point endPoint = lassoPoints.get(lassoPoints.size() - 1);
-                if (viewModel.isLassoReturning()) { // If lasso is returning, use a different color
-                    g2d.setColor(new Color(255, 100, 100));
-                } else {
-                    g2d.setColor(new Color(255, 105, 180));
-                }
-                g2d.fillOval(endPoint.x - 6, endPoint.y - 6, 12, 12);
-                g2d.setColor(Color.WHITE);
-                g2d.drawOval(endPoint.x - 6, endPoint.y - 6, 12, 12);
+            // Draw the lasso as one path from the hand to its tip
+            int startX = Math.round(frame.getLassoOriginX());
+            int startY = Math.round(frame.getLassoOriginY());
+            int tipX = Math.round(frame.getLassoTipX());
+            int tipY = Math.round(frame.getLassoTipY());
+            webPath.reset();
+            webPath.moveTo(startX, startY);
+            webPath.lineTo(tipX, tipY);
+            g2d.draw(webPath);
+
+            // Draw end point at the tip of the lasso
+            if (frame.isLassoReturning()) { // If lasso is returning, use a different color
+                g2d.setColor(LASSO_RETURN_TIP_COLOR);
+            } else {
+                g2d.setColor(LASSO_TIP_COLOR);
             }
+            g2d.fillOval(tipX - 6, tipY - 6, 12, 12);
+            g2d.setColor(Color.WHITE);
+            g2d.drawOval(tipX - 6, tipY - 6, 12, 12);
         }
     }
 
@@ -459,281 +758,206 @@ public class GamePanel extends JPanel {
     // Method to draw caught ball animations
     private void drawCaughtBallAnimations(Graphics2D g2d) {
         // Check if there are any caught ball animations
-        for (GameViewModel.CaughtBallAnimation animation : viewModel.getCaughtBalls()) {
-            // If animation is not active, skip drawing
-            float scale = animation.getScale();
+        for (int a = 0; a < frame.getAnimationCount(); a++) {
+            float animationX = frame.getAnimationX(a);
+            float animationY = frame.getAnimationY(a);
+            GameViewModel.BallType animationType = speciesTable.getEntry(frame.getAnimationSpecies(a)).getFallbackType();
+            float scale = frame.getAnimationScale(a);
             int size = (int)(50 * scale);
-            int x = (int)(animation.getX() - size/2);
-            int y = (int)(animation.getY() - size/2);
+            int x = (int)(animationX - size/2);
+            int y = (int)(animationY - size/2);
 
             // Add stronger glow effect
-            g2d.setColor(new Color(255, 255, 255, 150));
-            g2d.fillOval(x - 8, y - 8, size + 16, size + 16);
+            if (quality.isGlowEnabled()) {
+                g2d.setColor(BALL_GLOW_COLOR);
+                g2d.fillOval(x - 8, y - 8, size + 16, size + 16);
+            }
 
             //if ball type is JF3, draw with image
-            if (animation.getType() == GameViewModel.BallType.JF3) { 
+            if (animationType == GameViewModel.BallType.JF3) { 
                 // Draw JF3 ball with image
-                g2d.setColor(new Color(255, 182, 193));
+                g2d.setColor(LIGHT_PINK);
                 g2d.fillOval(x, y, size, size);
-                g2d.setColor(new Color(255, 105, 180));
-                drawHeart(g2d, (int)animation.getX(), (int)animation.getY(), (int)(12 * scale));
+                g2d.setColor(PINK);
+                drawHeart(g2d, (int)animationX, (int)animationY, (int)(12 * scale));
             } else { // If not JF3, draw as a simple circle
                 g2d.setColor(Color.BLACK);
                 g2d.fillOval(x, y, size, size);
-                g2d.setColor(new Color(139, 0, 0));
-                int centerX = (int)animation.getX();
-                int centerY = (int)animation.getY();
+                g2d.setColor(JF4_SPOT_COLOR);
+                int centerX = (int)animationX;
+                int centerY = (int)animationY;
                 g2d.fillOval(centerX - (int)(10*scale), centerY - (int)(6*scale),
                         (int)(20*scale), (int)(12*scale));
             }
 
             // Points text
-            g2d.setColor(Color.YELLOW);
-            g2d.setFont(new Font("Pixeloid Mono", Font.BOLD, (int)(20 * scale)));
-            String points = "+" + animation.getType().getPoints();
-            g2d.drawString(points, (int)animation.getX() + 25, (int)animation.getY() - 15);
+            drawPoints(g2d, (int)(MAX_POINTS_FONT_SIZE * scale), frame.getAnimationPoints(a),
+                    (int)animationX + 25, (int)animationY - 15);
         }
     }
 
     // Method to draw the basket for cutscene
     private void drawShootingCutscene(Graphics2D g2d) {
-        GameViewModel.ShootingCutscene cutscene = viewModel.getShootingCutscene();
-        if (cutscene == null) return; // If no cutscene, return early
+        if (!frame.isCutsceneActive()) return; // If no cutscene, return early
 
         // Tambahkan web dari tangan kiri ke ball
-        Player player = viewModel.getPlayer();
-        
-        // Posisi tangan kiri yang sama dengan throwLasso
-        int handOffsetX = player.getX() + (int)(player.getWidth() * 0.17); // Tangan kanan
-        int handOffsetY = player.getY() + (int)(player.getHeight() * 0.28);  // Posisi tangan
+        int handOffsetX = getCutsceneHandX();
+        int handOffsetY = getCutsceneHandY();
         
         // Posisi ball saat ini dalam animasi
-        float ballX = cutscene.getBallX();
-        float ballY = cutscene.getBallY();
+        float ballX = frame.getCutsceneBallX();
+        float ballY = frame.getCutsceneBallY();
         
-        // Web line TIPIS seperti JF4 web
-        g2d.setColor(new Color(255, 255, 255, 200));
-        g2d.setStroke(new BasicStroke(1.5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-        g2d.drawLine(handOffsetX, handOffsetY, (int)ballX, (int)ballY);
+        // Web line TIPIS seperti JF4 web, built once and stroked for the line and its glow
+        webPath.reset();
+        webPath.moveTo(handOffsetX, handOffsetY);
+        webPath.lineTo((int)ballX, (int)ballY);
+        g2d.setColor(WEB_COLOR);
+        g2d.setStroke(WEB_STROKE);
+        g2d.draw(webPath);
         
-        // Subtle glow yang sangat tipis
-        g2d.setColor(new Color(255, 255, 255, 50));
-        g2d.setStroke(new BasicStroke(2.5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-        g2d.drawLine(handOffsetX, handOffsetY, (int)ballX, (int)ballY);
-
-        // Draw normal game elements but slightly faded
-        g2d.setColor(new Color(0, 0, 0, 50));
-        g2d.fillRect(0, 0, getWidth(), getHeight());
+        if (quality.isGlowEnabled()) {
+            // Subtle glow yang sangat tipis
+            g2d.setColor(WEB_GLOW_COLOR);
+            g2d.setStroke(WEB_GLOW_STROKE);
+            g2d.draw(webPath);
+
+            // Draw normal game elements but slightly faded
+            g2d.setColor(CUTSCENE_FADE_COLOR);
+            g2d.fillRect(0, 0, getWidth(), getHeight());
+        }
 
         // Draw basket HANYA saat shooting cutscene dengan ukuran asli
         drawBasketForCutscene(g2d);
 
         // Draw flying ball with simple trail - GUNAKAN GAMBAR
-        drawFlyingBallWithImage(g2d, cutscene);
+        drawFlyingBallWithImage(g2d);
 
         // Draw simple UI
-        drawSimpleCutsceneUI(g2d, cutscene);
+        drawSimpleCutsceneUI(g2d);
+    }
+
+    // Methods to get the hand the cutscene web starts from
+    private int getCutsceneHandX() {
+        return frame.getPlayerX() + (int)(frame.getPlayerWidth() * 0.17); // Tangan kanan
+    }
+
+    private int getCutsceneHandY() {
+        return frame.getPlayerY() + (int)(frame.getPlayerHeight() * 0.28); // Posisi tangan
     }
 
     // Method to draw flying ball with image to basket
-    private void drawFlyingBallWithImage(Graphics2D g2d, GameViewModel.ShootingCutscene cutscene) {
+    private void drawFlyingBallWithImage(Graphics2D g2d) {
         // Get the current position of the ball in the cutscene
-        int ballX = (int)cutscene.getBallX();
-        int ballY = (int)cutscene.getBallY();
+        int ballX = (int)frame.getCutsceneBallX();
+        int ballY = (int)frame.getCutsceneBallY();
         int ballSize = 50;
+        int species = frame.getCutsceneSpecies();
+        int cutsceneSprite = quality.isSpritesEnabled() ? ballSprites[species] : -1;
 
-        // Draw ball dengan GAMBAR ASLI
-        if (cutscene.getBallType() == GameViewModel.BallType.JF3) {
-            // GUNAKAN GAMBAR JF3
-            if (jf3 != null) {
-                // Draw with glow effect
-                g2d.setColor(new Color(255, 255, 255, 150));
-                g2d.fillOval(ballX - ballSize/2 - 10, ballY - ballSize/2 - 10, ballSize + 20, ballSize + 20);
-                
-                // Draw actual web love image
-                g2d.drawImage(jf3, ballX - ballSize/2, ballY - ballSize/2, ballSize, ballSize, null);
-            } else {
-                // Fallback: Original pink ball with heart
-                g2d.setColor(new Color(255, 255, 255, 150));
-                g2d.fillOval(ballX - ballSize/2 - 10, ballY - ballSize/2 - 10, ballSize + 20, ballSize + 20);
-                
-                g2d.setColor(new Color(255, 182, 193));
-                g2d.fillOval(ballX - ballSize/2, ballY - ballSize/2, ballSize, ballSize);
-                g2d.setColor(new Color(255, 105, 180));
-                drawHeart(g2d, ballX, ballY, 12);
-            }
-        } else if (cutscene.getBallType() == GameViewModel.BallType.JF4) {
-            // GUNAKAN GAMBAR JF4
-            if (jf4 != null) {
-                // Draw with glow effect
-                g2d.setColor(new Color(255, 255, 255, 150));
-                g2d.fillOval(ballX - ballSize/2 - 10, ballY - ballSize/2 - 10, ballSize + 20, ballSize + 20);
-                
-                // Draw actual JF4 image
-                g2d.drawImage(jf4, ballX - ballSize/2, ballY - ballSize/2, ballSize, ballSize, null);
-            } else {
-                // Fallback: Original black ball with JF4
-                g2d.setColor(new Color(255, 255, 255, 150));
-                g2d.fillOval(ballX - ballSize/2 - 10, ballY - ballSize/2 - 10, ballSize + 20, ballSize + 20);
-                
-                g2d.setColor(Color.BLACK);
-                g2d.fillOval(ballX - ballSize/2, ballY - ballSize/2, ballSize, ballSize);
-                g2d.setColor(new Color(139, 0, 0));
-                g2d.fillOval(ballX - 10, ballY - 6, 20, 12);
-            }
-        } else if (cutscene.getBallType() == GameViewModel.BallType.JF1) {
-            // GUNAKAN GAMBAR JF1
-            if (jf1 != null) {
-                // Draw with glow effect
-                g2d.setColor(new Color(255, 255, 255, 150));
-                g2d.fillOval(ballX - ballSize/2 - 10, ballY - ballSize/2 - 10, ballSize + 20, ballSize + 20);
-                
-                // Draw actual jf1 image
-                g2d.drawImage(jf1, ballX - ballSize/2, ballY - ballSize/2, ballSize, ballSize, null);
-            } else {
-                // Fallback for jf1
-                g2d.setColor(new Color(255, 255, 255, 150));
-                g2d.fillOval(ballX - ballSize/2 - 10, ballY - ballSize/2 - 10, ballSize + 20, ballSize + 20);
-                
-                g2d.setColor(new Color(255, 200, 0));
-                g2d.fillOval(ballX - ballSize/2, ballY - ballSize/2, ballSize, ballSize);
-            }
+        // Glow effect behind the ball
+        if (quality.isGlowEnabled()) {
+            g2d.setColor(BALL_GLOW_COLOR);
+            g2d.fillOval(ballX - ballSize/2 - 10, ballY - ballSize/2 - 10, ballSize + 20, ballSize + 20);
+        }
+
+        // Draw ball dengan GAMBAR ASLI, or its shapes if the image is missing
+        if (cutsceneSprite >= 0) {
+            sprites.drawCentered(g2d, cutsceneSprite, ballX, ballY);
         } else {
-            // GUNAKAN GAMBAR JF2
-            if (jf2 != null) {
-                // Draw with glow effect
-                g2d.setColor(new Color(255, 255, 255, 150));
-                g2d.fillOval(ballX - ballSize/2 - 10, ballY - ballSize/2 - 10, ballSize + 20, ballSize + 20);
-                
-                // Draw actual jf2 image
-                g2d.drawImage(jf2, ballX - ballSize/2, ballY - ballSize/2, ballSize, ballSize, null);
-            } else {
-                // Fallback for jf2
-                g2d.setColor(new Color(255, 255, 255, 150));
-                g2d.fillOval(ballX - ballSize/2 - 10, ballY - ballSize/2 - 10, ballSize + 20, ballSize + 20);
-                
-                g2d.setColor(new Color(0, 255, 150));
-                g2d.fillOval(ballX - ballSize/2, ballY - ballSize/2, ballSize, ballSize);
-            }
-        } 
+            drawFallbackBall(g2d, speciesTable.getEntry(species).getFallbackType(),
+                    ballX - ballSize/2, ballY - ballSize/2, ballSize, false);
+        }
 
         // Draw points text
-        g2d.setColor(Color.YELLOW);
-        g2d.setFont(new Font("Pixeloid Mono", Font.BOLD, 20));
-        g2d.drawString("+" + cutscene.getBallType().getPoints(), ballX + 30, ballY - 15);
+        drawPoints(g2d, MAX_POINTS_FONT_SIZE, frame.getCutscenePoints(), ballX + 30, ballY - 15);
     }
 
     // Method to draw cutscene UI like progress bar and text
-    private void drawSimpleCutsceneUI(Graphics2D g2d, GameViewModel.ShootingCutscene cutscene) {
+    private void drawSimpleCutsceneUI(Graphics2D g2d) {
         // Simple progress bar
-        int barWidth = 300;
-        int barHeight = 20;
-        int barX = (getWidth() - barWidth) / 2;
-        int barY = getHeight() - 60;
+        int barWidth = CUTSCENE_BAR_WIDTH;
+        int barHeight = CUTSCENE_BAR_HEIGHT;
+        int barX = getCutsceneBarX();
+        int barY = getCutsceneBarY();
 
         // Draw background for progress bar
-        g2d.setColor(new Color(0, 0, 0, 150));
+        g2d.setColor(BAR_BACKGROUND_COLOR);
         g2d.fillRect(barX, barY, barWidth, barHeight);
 
         // Draw border for progress bar
-        g2d.setColor(new Color(255, 105, 180));
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setColor(PINK);
+        g2d.setStroke(STROKE_2);
         g2d.drawRect(barX, barY, barWidth, barHeight);
 
-        // Progress
-        long elapsed = System.currentTimeMillis() - cutscene.getStartTime();
-        float progress = Math.min(1.0f, (float)elapsed / 1000);
+        // Progress, as of the last simulation tick
+        float progress = frame.getCutsceneProgress();
 
         // Fill progress bar with color
-        g2d.setColor(new Color(255, 105, 180));
+        g2d.setColor(PINK);
         g2d.fillRect(barX + 2, barY + 2, (int)((barWidth - 4) * progress), barHeight - 4);
 
         // Simple text
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Pixeloid Mono", Font.BOLD, 16));
         String text = "SHOOTING TO BASKET...";
-        FontMetrics fm = g2d.getFontMetrics();
-        int textX = (getWidth() - fm.stringWidth(text)) / 2;
-        g2d.drawString(text, textX, barY - 10);
+        hudText.draw(g2d, text, (getWidth() - hudText.width(text)) / 2, barY - 10);
+    }
+
+    // Methods to get the position of the cutscene progress bar
+    private int getCutsceneBarX() {
+        return (getWidth() - CUTSCENE_BAR_WIDTH) / 2;
+    }
+
+    private int getCutsceneBarY() {
+        return getHeight() - 60;
     }
 
     // Update method drawLivesDisplay
     private void drawLivesDisplay(Graphics2D g2d) {
-        // Position and size for lives display
+        // Position for lives display
         int livesX = 10;
         int livesY = -16;
 
-        // Lives size and aspect ratio
-        int livesWidth = 350;
-        int livesHeight = 140;
-
-        // Choose the appropriate lives image based on the current lives
-        BufferedImage livesImg = null;
-        switch (viewModel.getLives()) {
-            case 4: // Use lives4Img for 4 lives
-                livesImg = lives4Img;
-                break;
-            case 3: // Use lives3Img for 3 lives
-                livesImg = lives3Img;
-                break;
-            case 2: // Use lives2Img for 2 lives
-                livesImg = lives2Img;
-                break;
-            case 1: // Use lives1Img for 1 life
-                livesImg = lives1Img;
-                break;
-            case 0: 
-            default:
-                livesImg = null;
-                break;
-        }
-
-        if (livesImg != null) {
-            // Maintain aspect ratio dengan ukuran yang lebih kecil
-            int originalWidth = livesImg.getWidth();
-            int originalHeight = livesImg.getHeight();
-
-            if (originalWidth > 0 && originalHeight > 0) {
-                float aspectRatio = (float)originalWidth / originalHeight;
-
-                // Gunakan ukuran yang lebih kecil
-                livesHeight = 100;  // Fixed smaller height
-                livesWidth = (int)(livesHeight * aspectRatio);
-
-                // Pastikan tidak terlalu lebar
-                if (livesWidth > 300) {
-                    livesWidth = 300;
-                    livesHeight = (int)(livesWidth / aspectRatio);
-                }
-            }
+        // Choose the sprite for the current lives (none at 0), already scaled to its draw size
+        int lives = frame.getLives();
+        if (lives > 0 && lives < livesSprites.length) {
+            sprites.draw(g2d, livesSprites[lives], livesX, livesY);
+        }
+    }
+
+    // Method to get the draw size of a lives image, keeping its aspect ratio
+    private static Dimension getLivesDrawSize(int originalWidth, int originalHeight) {
+        float aspectRatio = (float)originalWidth / originalHeight;
 
-            // Draw dengan ukuran yang tepat
-            g2d.drawImage(livesImg, livesX, livesY, livesWidth, livesHeight, null);
+        // Gunakan ukuran yang lebih kecil
+        int livesHeight = LIVES_HEIGHT;  // Fixed smaller height
+        int livesWidth = (int)(livesHeight * aspectRatio);
+
+        // Pastikan tidak terlalu lebar
+        if (livesWidth > LIVES_MAX_WIDTH) {
+            livesWidth = LIVES_MAX_WIDTH;
+            livesHeight = (int)(livesWidth / aspectRatio);
         }
+        return new Dimension(livesWidth, livesHeight);
     }
 
     // Method for drawing the basket in cutscene
     private void drawBasketForCutscene(Graphics2D g2d) {
-        if (basketImg != null) {
-            // Use the basket image with original size
-            int basketWidth = 100;
-            int basketHeight = 100;
-            
+        if (basketSprite >= 0) {
             // Posisi di ujung kanan atas
             int basketX = getWidth() - 140;  // Tepat di ujung kanan
             int basketY = 15;
-            
-            // Draw with original size
-            g2d.drawImage(basketImg, basketX, basketY, basketWidth, basketHeight, null);
+
+            // Draw the sprite, pre-scaled to 100x100
+            sprites.draw(g2d, basketSprite, basketX, basketY);
         } else {
             // Fallback: Draw basket outline
             int basketX = getWidth() - 140;  // Tepat di ujung kanan
             int basketY = 15;
-            int basketWidth = 100;
-            int basketHeight = 100;
+            int basketWidth = BASKET_SIZE;
+            int basketHeight = BASKET_SIZE;
 
-            g2d.setColor(new Color(255, 105, 180, 150));
-            g2d.setStroke(new BasicStroke(3));
+            g2d.setColor(BASKET_OUTLINE_COLOR);
+            g2d.setStroke(STROKE_3);
             g2d.drawRect(basketX, basketY, basketWidth, basketHeight);
         }
     }
@@ -744,27 +968,31 @@ public class GamePanel extends JPanel {
         int panelWidth = getWidth() > 0 ? getWidth() : 800;
         int panelHeight = getHeight() > 0 ? getHeight() : 600;
         
-        // Create a new BufferedImage for the static background
-        staticBackground = new BufferedImage(panelWidth, panelHeight, BufferedImage.TYPE_INT_RGB);
+        // Create the static background in the screen's pixel format
+        BufferedImage staticBackground = CompatibleImages.create(panelWidth, panelHeight, Transparency.OPAQUE);
         Graphics2D g2d = staticBackground.createGraphics();
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
         // Load background image if available
         if (bgImg != null) {
             // Isi dengan warna dasar dulu
-            g2d.setColor(new Color(20, 30, 60));
+            g2d.setColor(BACKGROUND_COLOR);
             g2d.fillRect(0, 0, panelWidth, panelHeight);
             
             // Gambar background dengan ukuran panel sebenarnya
             g2d.drawImage(bgImg, 0, 0, panelWidth, panelHeight, null);
         } else {
             // Isi dengan warna dasar
-            g2d.setColor(new Color(20, 30, 60));
+            g2d.setColor(BACKGROUND_COLOR);
             g2d.fillRect(0, 0, panelWidth, panelHeight);
         }
 
         g2d.dispose();
-        backgroundGenerated = true;
+        if (backgroundLayer == null) {
+            backgroundLayer = new VolatileLayer(staticBackground);
+        } else {
+            backgroundLayer.setContent(staticBackground);
+        }
     }
 
     // UI RENDERING METHODS
@@ -772,21 +1000,95 @@ public class GamePanel extends JPanel {
     // Method to draw the game UI elements
     private void drawUI(Graphics2D g2d) {
         // Score display
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Pixeloid Mono", Font.BOLD, 16));
-        g2d.drawString("Score: " + viewModel.getScore(), 17, 65);
-        g2d.drawString("Count: " + viewModel.getCount(), 17, 90);
+        int length = GlyphStrip.append(textBuffer, GlyphStrip.append(textBuffer, 0, "Score: "), frame.getScore());
+        hudText.draw(g2d, textBuffer, 0, length, 17, 65);
+        length = GlyphStrip.append(textBuffer, GlyphStrip.append(textBuffer, 0, "Count: "), frame.getCount());
+        hudText.draw(g2d, textBuffer, 0, length, 17, 90);
 
         // Lives Display
         drawLivesDisplay(g2d);
 
         // Instructions
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.PLAIN, 12));
-        g2d.drawString("Arrow keys: Move | Click: Throw web | Space: Quit", 500, getHeight() - 15);
+        infoText.draw(g2d, "Arrow keys: Move | Click: Throw web | P: Pause | Space: Quit", 440, getHeight() - 15);
+
+        // Measured simulation and render rates
+        if (gameLoop != null) {
+            infoText.draw(g2d, ratesText, 0, ratesLength, 17, getRatesBaseline()); // Built by updateFrame()
+        }
+
+        // Pause indicator
+        if (gameLoop != null && gameLoop.getClock().isPaused()) {
+            pausedText.draw(g2d, "PAUSED", (getWidth() - pausedText.width("PAUSED")) / 2, getHeight() / 2);
+        }
+    }
+
+    // Method to draw the point label above a ball of the given species
+    private void drawBallLabel(Graphics2D g2d, GlyphStrip strip, int species, int x, int y) {
+        char[] label = ballLabels[species];
+        strip.draw(g2d, label, 0, label.length, x, y);
+    }
+
+    // Method to draw "+points" in yellow at the given font size
+    private void drawPoints(Graphics2D g2d, int fontSize, int points, int x, int y) {
+        GlyphStrip strip = pointsText[Math.max(1, Math.min(MAX_POINTS_FONT_SIZE, fontSize))];
+        textBuffer[0] = '+';
+        strip.draw(g2d, textBuffer, 0, GlyphStrip.append(textBuffer, 1, points), x, y);
+    }
+
+    // Method to build the "+N" font of every size from 1 to MAX_POINTS_FONT_SIZE
+    private static Font[] pointsFonts() {
+        Font base = new Font("Pixeloid Mono", Font.BOLD, MAX_POINTS_FONT_SIZE);
+        Font[] fonts = new Font[MAX_POINTS_FONT_SIZE + 1];
+        for (int size = 1; size <= MAX_POINTS_FONT_SIZE; size++) {
+            fonts[size] = base.deriveFont((float) size);
+        }
+        return fonts;
+    }
+
+    // Method to build evenly spaced lines out from (0, 0), reaching radiusX across and radiusY down
+    private static Path2D radialLines(int count, int radiusX, int radiusY) {
+        Path2D path = new Path2D.Float();
+        for (int i = 0; i < count; i++) {
+            double angle = i * Math.PI / (count / 2); // count is even
+            path.moveTo(0, 0);
+            path.lineTo((int)(radiusX * Math.cos(angle)), (int)(radiusY * Math.sin(angle)));
+        }
+        return path;
+    }
+
+    // Method to build the leg joints of the fallback player around (0, 0)
+    private static Path2D legJoints() {
+        Path2D path = new Path2D.Float();
+        for (int i = 0; i < 8; i++) {
+            double angle = i * Math.PI / 4;
+            int midX = (int)(12 * Math.cos(angle));
+            int midY = (int)(8 * Math.sin(angle));
+            path.append(new Ellipse2D.Float(midX - 2, midY - 2, 4, 4), false);
+        }
+        return path;
+    }
+
+    // Method to build the suit web of the fallback player around (0, 0), keeping lines inside the player
+    private static Path2D playerWebPattern(int playerWidth, int playerHeight) {
+        Path2D path = new Path2D.Float();
+
+        // Radial web pattern - LARGER
+        for (int i = 0; i < 8; i++) {
+            double angle = i * Math.PI / 4;
+            int x2 = (int)(35 * Math.cos(angle));
+            int y2 = (int)(25 * Math.sin(angle));
+            if (playerWidth / 2 + x2 >= 0 && playerWidth / 2 + x2 <= playerWidth &&
+                    playerHeight / 2 + y2 >= 0 && playerHeight / 2 + y2 <= playerHeight) {
+                path.moveTo(0, 0);
+                path.lineTo(x2, y2);
+            }
+        }
 
-        // Ball types legend
-        g2d.setFont(new Font("Pixeloid Mono", Font.BOLD, 14));
+        // Concentric web circles - BIGGER
+        for (int r = 12; r <= 35; r += 8) {
+            path.append(new Ellipse2D.Float(-r, -r, r * 2, r * 2), false);
+        }
+        return path;
     }
 
     // Method to draw a heart shape
@@ -803,6 +1105,38 @@ public class GamePanel extends JPanel {
 
     // Method to draw the game over screen
     private void drawGameOverScreen(Graphics2D g2d) {
+        // Everything but the prompt is one cached layer, rebuilt only if the result or the size changes
+        boolean withBackground = frame.isGameOver();
+        if (gameOverLayer == null || gameOverScore != frame.getScore() || gameOverCount != frame.getCount()
+                || gameOverWithBackground != withBackground
+                || gameOverLayer.getWidth() != getWidth() || gameOverLayer.getHeight() != getHeight()) {
+            generateGameOverLayer(withBackground);
+        }
+        gameOverLayer.draw(g2d, 0, 0);
+
+        // Blinking prompt, pre-rendered with its glow
+        if (promptVisible) {
+            g2d.drawImage(promptImage, promptX, promptY, null);
+        }
+    }
+
+    // Method to pre-render the game over screen for the current result and panel size
+    private void generateGameOverLayer(boolean withBackground) {
+        int panelWidth = getWidth() > 0 ? getWidth() : 800;
+        int panelHeight = getHeight() > 0 ? getHeight() : 600;
+        BufferedImage layer = CompatibleImages.create(panelWidth, panelHeight, Transparency.OPAQUE);
+        Graphics2D g2d = layer.createGraphics();
+
+        // What used to be under the screen: the panel colour, and the game background after a game over
+        g2d.setColor(getBackground());
+        g2d.fillRect(0, 0, panelWidth, panelHeight);
+        if (withBackground) {
+            if (backgroundLayer == null) {
+                generateStaticBackground();
+            }
+            g2d.drawImage(backgroundLayer.getContent(), 0, 0, null);
+        }
+
         // Enable anti-aliasing for smoother graphics
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
@@ -838,12 +1172,22 @@ public class GamePanel extends JPanel {
 
         // Gaming-style stats panel with neon accents
         drawGamingStatsPanel(g2d);
+        g2d.dispose();
+
+        if (gameOverLayer == null) {
+            gameOverLayer = new VolatileLayer(layer);
+        } else {
+            gameOverLayer.setContent(layer);
+        }
+        gameOverScore = frame.getScore();
+        gameOverCount = frame.getCount();
+        gameOverWithBackground = withBackground;
     }
 
     // Method to draw glowing "GAME OVER" text
     private void drawGlowingGameOverText(Graphics2D g2d) {
         String gameOverText = "GAME OVER";
-        g2d.setFont(new Font("Pixeloid Mono", Font.BOLD, 56));
+        g2d.setFont(GAME_OVER_FONT);
         FontMetrics fm = g2d.getFontMetrics();
         int textX = (getWidth() - fm.stringWidth(gameOverText)) / 2;
         int textY = getHeight() / 2 - 100;
@@ -913,7 +1257,7 @@ public class GamePanel extends JPanel {
         
         // Header text with glow
         g2d.setColor(new Color(0, 255, 255, 80));
-        g2d.setFont(new Font("Pixeloid Mono", Font.BOLD, 20));
+        g2d.setFont(STATS_HEADER_FONT);
         String headerText = "MISSION RESULTS";
         FontMetrics fm = g2d.getFontMetrics();
         int headerX = panelX + (panelWidth - fm.stringWidth(headerText)) / 2;
@@ -926,36 +1270,50 @@ public class GamePanel extends JPanel {
         // Stats with gaming style
         // Final Score
         g2d.setColor(new Color(255, 220, 0, 150));
-        g2d.setFont(new Font("Pixeloid Mono", Font.BOLD, 17));
+        g2d.setFont(STATS_FONT);
         g2d.drawString("►", panelX + 30, panelY + 80);
         
         g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Pixeloid Mono", Font.BOLD, 17));
-        String scoreText = "FINAL SCORE: " + viewModel.getScore();
+        g2d.setFont(STATS_FONT);
+        String scoreText = "FINAL SCORE: " + frame.getScore();
         g2d.drawString(scoreText, panelX + 55, panelY + 80);
 
         // Jellyfish Caught with icon
         g2d.setColor(new Color(100, 255, 150, 150));
-        g2d.setFont(new Font("Pixeloid Mono", Font.BOLD, 17));
+        g2d.setFont(STATS_FONT);
         g2d.drawString("►", panelX + 30, panelY + 110);
         
         g2d.setColor(new Color(150, 255, 200));
-        String jellyfishText = "JELLYFISH CAUGHT: " + viewModel.getCount();
+        String jellyfishText = "JELLYFISH CAUGHT: " + frame.getCount();
         g2d.drawString(jellyfishText, panelX + 55, panelY + 110);
 
-        // Instruction with cyber styling
-        g2d.setColor(new Color(255, 255, 100, 180));
-        g2d.setFont(new Font("Pixeloid Mono", Font.BOLD, 15));
+        // Instruction with cyber styling, rendered into its own image so it can blink
+        generatePromptImage(g2d.getFontMetrics(STATS_HINT_FONT), panelX, panelY, panelWidth);
+    }
+
+    // Method to pre-render the "PRESS SPACE" prompt with its glow, centred in the stats panel
+    private void generatePromptImage(FontMetrics fm, int panelX, int panelY, int panelWidth) {
         String instructText = "[ PRESS SPACE TO CONTINUE ]";
-        fm = g2d.getFontMetrics();
         int instructX = panelX + (panelWidth - fm.stringWidth(instructText)) / 2;
-        
-        // Blinking effect simulation
+        int pad = 4; // Room for the glow copies and anti-aliasing
+        promptImage = CompatibleImages.create(fm.stringWidth(instructText) + 2 * pad,
+                fm.getAscent() + fm.getDescent() + 2 * pad, Transparency.TRANSLUCENT);
+        promptX = instructX - pad;
+        promptY = panelY + 140 - fm.getAscent() - pad;
+
+        Graphics2D g2d = promptImage.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(STATS_HINT_FONT);
+        int textX = pad, textY = pad + fm.getAscent();
+
+        // Glow copies either side
         g2d.setColor(new Color(255, 255, 0, 100));
-        g2d.drawString(instructText, instructX + 1, panelY + 140);
-        g2d.drawString(instructText, instructX - 1, panelY + 140);
-        
+        g2d.drawString(instructText, textX + 1, textY);
+        g2d.drawString(instructText, textX - 1, textY);
+
         g2d.setColor(new Color(255, 255, 150));
-        g2d.drawString(instructText, instructX, panelY + 140);
+        g2d.drawString(instructText, textX, textY);
+        g2d.dispose();
     }
 }
\ No newline at end of file
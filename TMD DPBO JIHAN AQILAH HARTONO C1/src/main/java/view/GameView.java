@@ -1,12 +1,22 @@
 package view; // View for the Game
 
+import util.GameClock; // Monotonic, pausable game time
+import util.GameLoop; // Fixed-timestep game loop that drives the simulation
+import util.ManualGameClock; // Tick-stepped clock that keeps the simulation deterministic
+import viewmodel.GameEventBus; // Delivers game events off the game loop thread
+import viewmodel.GameEventSubscribers; // Sound, saving, logging and statistics listeners
 import viewmodel.GameViewModel; // ViewModel for the Game
+import viewmodel.ReplayRecorder; // Records the session so it can be replayed
+import viewmodel.SpawnSettings; // Spawn settings, normal or swarm mode
 import javax.swing.*; // Import Swing components for GUI
 import java.awt.*; // Import AWT components for GUI
 import java.awt.event.KeyAdapter; // Import KeyAdapter to handle key events
 import java.awt.event.KeyEvent; // Import KeyEvent to handle key events
 import java.awt.event.MouseAdapter; // Import MouseAdapter to handle mouse events
 import java.awt.event.MouseEvent; // Import MouseEvent to handle mouse events
+import java.io.File; // Import File for the replay directory
+import java.text.SimpleDateFormat; // Import SimpleDateFormat to name replay files
+import java.util.Date; // Import Date to name replay files
 
 /**
  * GameView class - Main game window that handles the game display and user interactions
@@ -16,10 +26,23 @@ import java.awt.event.MouseEvent; // Import MouseEvent to handle mouse events
 public class GameView extends JFrame { // View for the Game
     private GameViewModel viewModel; // Reference to the game's view model for business logic
     private GamePanel gamePanel; // Custom panel that renders the game graphics
+    private GameCanvas gameCanvas; // Active rendering surface showing the panel's frames (null in Swing mode)
+    private Component gameSurface; // Component on screen that receives input: the panel or the canvas
     private String username; // Current player's username
     private MainMenuView mainMenu; // Reference to main menu for navigation back
-    private Timer gameTimer; // Swing timer that drives the game loop
-    private boolean gameOverProcessed = false; // Flag to prevent multiple game over processing
+    private GameLoop gameLoop; // Dedicated game loop thread that drives the simulation
+    private GameClock clock; // Real game time that paces the loop, pausable with P
+    private ManualGameClock simulationClock; // Simulation time, advanced by exactly one tick per update
+    private volatile ReplayRecorder replayRecorder; // Records seed and input of this session (may be null)
+    private final GameEventBus eventBus = new GameEventBus(); // Game events for sound, saving and logging
+    private final GameEventSubscribers.Statistics statistics = new GameEventSubscribers.Statistics(); // Session stats
+    private final GameEventSubscribers.Persistence persistence; // Saves the result on its own thread
+    private static final long EVENT_DRAIN_MILLIS = 2000; // Longest wait for the last events (score saving)
+    private static final int DEFAULT_MAX_FPS = 120; // Frame cap when the screen refresh rate is unknown
+    private static final String REPLAY_DIRECTORY = System.getProperty("jellyfish.replayDir", "replays"); // Where replays go
+    private static final boolean RECORD_REPLAYS = Boolean.getBoolean("jellyfish.replays"); // Replay switch, off unless asked for
+    private static final boolean ACTIVE_RENDERING = "active".equals(System.getProperty("jellyfish.renderer")); // Canvas instead of Swing painting
+    private static final int ACTIVE_BUFFERS = Integer.getInteger("jellyfish.buffers", 2); // Page flipping buffers, 2 or 3
 
     /**
      * Constructor - Initialize the game view with player username and main menu reference
@@ -29,8 +52,30 @@ public class GameView extends JFrame { // View for the Game
     public GameView(String username, MainMenuView mainMenu) {
         this.username = username; // Store the player's username
         this.mainMenu = mainMenu; // Store reference to main menu
-        this.viewModel = new GameViewModel(); // Create new game view model instance
-        this.gameOverProcessed = false; // Initialize game over flag to false
+        this.clock = GameClock.system(); // Monotonic game time, pausable with P
+        this.simulationClock = new ManualGameClock(); // Deterministic time for the simulation
+        long seed = System.nanoTime(); // Seed for this session, stored in the replay
+        this.viewModel = new GameViewModel(simulationClock, seed); // Create new game view model instance
+        SpawnSettings spawnSettings = SpawnSettings.fromSystemProperties(); // Normal game unless swarm mode is on
+        viewModel.setSpawnSettings(spawnSettings);
+        if (!spawnSettings.isNormal()) {
+            System.out.println("Swarm mode: " + spawnSettings);
+        }
+
+        // Side effects of the game run on the event thread, so a tick never waits for sound or the database
+        eventBus.subscribe(GameEventSubscribers.audio());
+        persistence = GameEventSubscribers.persistence(username);
+        eventBus.subscribe(persistence);
+        eventBus.subscribe(GameEventSubscribers.logging());
+        eventBus.subscribe(statistics);
+        eventBus.start("game-events");
+        viewModel.setEventBus(eventBus);
+
+        // Record seed and input so the session can be replayed exactly
+        if (RECORD_REPLAYS) {
+            replayRecorder = new ReplayRecorder(seed, spawnSettings, viewModel.getSpawnTable());
+            viewModel.setReplayRecorder(replayRecorder);
+        }
 
         // Initialize all GUI components
         initializeComponents();
@@ -39,8 +84,11 @@ public class GameView extends JFrame { // View for the Game
         // Start the main game loop
         startGameLoop();
 
-        // Start the actual game logic with the player's username
-        viewModel.startGame(username);
+        // Start the actual game logic (scores are saved under the username by the persistence listener)
+        synchronized (viewModel) {
+            viewModel.startGame();
+            viewModel.publishFrame(); // First frame for the panel
+        }
     }
 
     /**
@@ -54,7 +102,14 @@ public class GameView extends JFrame { // View for the Game
         // Set content pane size instead of window size for better layout
         gamePanel = new GamePanel(viewModel); // Create game panel with view model reference
         gamePanel.setPreferredSize(new Dimension(800, 600)); // Set game area size
-        add(gamePanel); // Add game panel to the frame
+        if (ACTIVE_RENDERING) { // The game loop draws through a canvas; the panel only renders
+            gameCanvas = new GameCanvas(gamePanel, ACTIVE_BUFFERS);
+            gameSurface = gameCanvas;
+            System.out.println("Active rendering with " + ACTIVE_BUFFERS + " buffers");
+        } else {
+            gameSurface = gamePanel;
+        }
+        add(gameSurface); // Add the game surface to the frame
         
         pack(); // Automatically size window to fit content properly
         
@@ -64,24 +119,25 @@ public class GameView extends JFrame { // View for the Game
         setResizable(false); // Prevent window resizing to maintain game layout
 
         // Add mouse listener to handle lasso throws
-        gamePanel.addMouseListener(new MouseAdapter() {
+        gameSurface.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
                 // Only process mouse clicks when game is actively running
-                if (viewModel.isGameRunning()) {
-                    // Debug output for mouse click coordinates
-                    System.out.println("Mouse clicked at: " + e.getX() + ", " + e.getY());
-                    // Send lasso throw command to view model with click coordinates
-                    viewModel.throwLasso(e.getX(), e.getY());
-                    // Force immediate screen update to show lasso
-                    gamePanel.repaint();
+                synchronized (viewModel) { // Input must not interleave with a simulation tick
+                    if (viewModel.isGameRunning() && !clock.isPaused()) {
+                        // Debug output for mouse click coordinates
+                        System.out.println("Mouse clicked at: " + e.getX() + ", " + e.getY());
+                        // Send lasso throw command to view model with click coordinates
+                        viewModel.throwLasso(e.getX(), e.getY());
+                    }
                 }
+                // The lasso shows in the frame after the next tick, like everything else
             }
         });
 
         // Enable focus on game panel for proper mouse event handling
-        gamePanel.setFocusable(true);
-        gamePanel.requestFocus();
+        gameSurface.setFocusable(true);
+        gameSurface.requestFocus();
 
         // Enable focus on main frame for keyboard input
         setFocusable(true);
@@ -90,7 +146,7 @@ public class GameView extends JFrame { // View for the Game
 
     /**
      * Set up keyboard input handling for player movement and game controls
-     * Handles arrow keys for movement and space bar for game actions
+     * Handles arrow keys for movement, P for pause and space bar for game actions
      */
     private void setupKeyBindings() {
         // Create key listener that handles all keyboard input
@@ -102,43 +158,59 @@ public class GameView extends JFrame { // View for the Game
 
                 // Handle SPACE key for both game over and normal game states
                 if (e.getKeyCode() == KeyEvent.VK_SPACE) {
-                    if (viewModel.isGameOver()) {
+                    boolean gameOver;
+                    boolean gameRunning;
+                    synchronized (viewModel) {
+                        gameOver = viewModel.isGameOver();
+                        gameRunning = viewModel.isGameRunning();
+                    }
+                    if (gameOver) {
                         // Game over state - return to main menu
                         returnToMainMenu();
-                    } else if (viewModel.isGameRunning()) {
+                    } else if (gameRunning) {
                         // Game running - quit game and save progress
                         endGameWithSave();
                     }
                     return; // Exit early to prevent further processing
                 }
+
+                // Handle P key to pause and resume game time
+                if (e.getKeyCode() == KeyEvent.VK_P) {
+                    if (clock.isPaused()) {
+                        clock.resume();
+                    } else {
+                        clock.pause();
+                    }
+                    return; // The loop keeps drawing while paused, so the next frame shows it
+                }
                 
-                // Only process movement keys when game is running
-                if (!viewModel.isGameRunning()) return;
-                
-                // Handle arrow key movement
-                switch (e.getKeyCode()) {
-                    case KeyEvent.VK_UP:
-                        viewModel.getPlayer().moveUp(); // Move player up
-                        break;
-                    case KeyEvent.VK_DOWN:
-                        viewModel.getPlayer().moveDown(); // Move player down
-                        break;
-                    case KeyEvent.VK_LEFT:
-                        viewModel.getPlayer().moveLeft(); // Move player left
-                        break;
-                    case KeyEvent.VK_RIGHT:
-                        viewModel.getPlayer().moveRight(); // Move player right
-                        break;
-                    case KeyEvent.VK_SPACE:
-                        endGameWithSave(); // End game and save progress
-                        break;
+                // Input must not interleave with a simulation tick
+                synchronized (viewModel) {
+                    // Only process movement keys when game is running
+                    if (!viewModel.isGameRunning() || clock.isPaused()) return;
+
+                    // Handle arrow key movement
+                    switch (e.getKeyCode()) {
+                        case KeyEvent.VK_UP:
+                            viewModel.movePlayer(GameViewModel.MoveDirection.UP); // Move player up
+                            break;
+                        case KeyEvent.VK_DOWN:
+                            viewModel.movePlayer(GameViewModel.MoveDirection.DOWN); // Move player down
+                            break;
+                        case KeyEvent.VK_LEFT:
+                            viewModel.movePlayer(GameViewModel.MoveDirection.LEFT); // Move player left
+                            break;
+                        case KeyEvent.VK_RIGHT:
+                            viewModel.movePlayer(GameViewModel.MoveDirection.RIGHT); // Move player right
+                            break;
+                    }
                 }
             }
         };
 
         // Add key listener to both frame and panel for comprehensive input handling
         addKeyListener(keyListener);
-        gamePanel.addKeyListener(keyListener);
+        gameSurface.addKeyListener(keyListener);
     }
 
     /**
@@ -148,13 +220,23 @@ public class GameView extends JFrame { // View for the Game
     private void endGameWithSave() {
         System.out.println("Ending game manually...");
         
-        // Stop the game timer to halt game loop
-        if (gameTimer != null) {
-            gameTimer.stop();
+        // Stop the game loop thread to halt the simulation
+        if (gameLoop != null) {
+            gameLoop.stop();
         }
+
+        // Close and save the replay before the game state changes
+        finishReplay();
+        saveReplay();
         
         // Save current score before stopping game
-        viewModel.stopGame(); // This will save the score to persistent storage
+        synchronized (viewModel) {
+            viewModel.stopGame(); // This will save the score to persistent storage
+            viewModel.publishFrame(); // Let the panel show the stopped game
+        }
+        if (gameCanvas != null) {
+            gameCanvas.renderFrame(); // The loop is stopped, so draw the stopped game here (the canvas locks its buffers)
+        }
 
         // Create appropriate message based on game end reason
         String message;
@@ -182,9 +264,25 @@ public class GameView extends JFrame { // View for the Game
     private void returnToMainMenu() {
         System.out.println("Returning to main menu...");
         
-        // Stop game timer to prevent further updates
-        if (gameTimer != null) {
-            gameTimer.stop();
+        // Stop game loop to prevent further updates
+        if (gameLoop != null) {
+            gameLoop.stop();
+        }
+        // Deliver the last events and finish the save first, so the leaderboard below includes the score
+        eventBus.stop(EVENT_DRAIN_MILLIS);
+        persistence.shutdown(EVENT_DRAIN_MILLIS);
+        System.out.println(statistics);
+        if (eventBus.getDroppedCount() > 0) {
+            System.out.println("Game events dropped: " + eventBus.getDroppedCount());
+        }
+        System.out.println(viewModel.getPoolStatistics()); // How well object reuse worked this session
+        System.out.println(gamePanel.getCapacityMonitor()); // Entity count the frame budget allowed
+        System.out.println(gamePanel.getQualityController()); // Render quality the frame budget allowed
+        if (gameCanvas == null) {
+            System.out.printf("Dirty rectangles: %.0f%% of the panel repainted per frame%n",
+                    gamePanel.getRepaintedShare() * 100);
+        } else if (gameCanvas.getLostFrames() > 0) {
+            System.out.println("Active rendering: " + gameCanvas.getLostFrames() + " frames lost with their buffers");
         }
         
         // Close current game window and free resources
@@ -209,35 +307,94 @@ public class GameView extends JFrame { // View for the Game
 
     /**
      * Start the main game loop with proper game over handling
-     * Uses Swing Timer to update game state and handle automatic game over
+     * Uses a dedicated GameLoop thread: the simulation runs at a fixed 60 ticks per second
+     * no matter how long painting takes, and frames are requested as often as allowed; each
+     * frame repaints only the area that changed since the one before. In active rendering
+     * mode the loop thread draws and shows each frame itself through the canvas
      */
     private void startGameLoop() {
-        // Create timer that fires every 16ms (approximately 60 FPS)
-        gameTimer = new Timer(16, e -> {
+        Runnable renderAction = gameCanvas != null ? gameCanvas::renderFrame : gamePanel::requestFrame;
+        gameLoop = new GameLoop(GameViewModel.TICKS_PER_SECOND, clock, this::tick, renderAction);
+        gameLoop.setMaxFramesPerSecond(getDisplayRefreshRate()); // No point painting faster than the screen
+        gamePanel.setGameLoop(gameLoop); // Let the panel count frames and show measured rates
+
+        // Start the game loop thread
+        gameLoop.start();
+
+        System.out.println("Game loop started");
+    }
+
+    /**
+     * Run one fixed simulation step - called on the game loop thread
+     * Holds the view model lock so input handlers never interleave with a tick; painting
+     * only reads the frame published at the end of the tick and takes no lock
+     */
+    private void tick() {
+        boolean replayFinished = false;
+        synchronized (viewModel) {
             // Update game logic only when game is running
             if (viewModel.isGameRunning()) {
+                simulationClock.advanceNanos(GameViewModel.TICK_NANOS); // Exactly one tick of game time
                 viewModel.update(); // Update all game objects (player, jellies, etc.)
+
+                // Session ended inside this tick - close the replay with the final result
+                if (viewModel.isGameOver()) {
+                    replayFinished = finishReplay();
+                }
             }
-            
-            // Always repaint screen, even during game over to show game over screen
-            gamePanel.repaint();
-            
-            // Auto save score when lives are depleted WITHOUT showing dialog
-            if (viewModel.getLives() <= 0 && viewModel.isGameRunning() && !gameOverProcessed) {
-                gameOverProcessed = true; // Set flag to prevent multiple processing
-                System.out.println("Lives depleted - triggering game over");
-                
-                // Automatically end game and save score
-                viewModel.stopGame(); // This will save the score to persistent storage
-                
-                System.out.println("Game over - score should be saved");
-            }
-        });
-        
-        // Start the game timer
-        gameTimer.start();
 
-        System.out.println("Game loop started");
+            viewModel.publishFrame(); // Hand the new state to the panel
+        }
+
+        if (replayFinished) {
+            SwingUtilities.invokeLater(this::saveReplay); // File I/O stays off the game loop thread
+        }
+    }
+
+    /**
+     * Close the replay recording with the current tick and result
+     * @return true if the recording was closed by this call
+     */
+    private boolean finishReplay() {
+        if (replayRecorder == null || replayRecorder.isFinished()) return false;
+        synchronized (viewModel) {
+            replayRecorder.finish(viewModel.getTickCount(), viewModel.getScore(), viewModel.getCount());
+        }
+        return true;
+    }
+
+    /**
+     * Save the finished replay into the replay directory
+     * Failures are only logged - a missing replay must never break the game
+     */
+    private void saveReplay() {
+        if (replayRecorder == null || !replayRecorder.isFinished()) return;
+        ReplayRecorder recorder = replayRecorder;
+        replayRecorder = null; // Save only once
+
+        try {
+            String name = username + "-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+            File file = recorder.saveTo(new File(REPLAY_DIRECTORY), name);
+            System.out.println("Replay saved: " + file.getPath() + " (" + recorder.size() + " bytes)");
+        } catch (Exception e) {
+            System.out.println("Could not save replay: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the refresh rate of the screen showing this window
+     * @return Refresh rate in Hz, or a sensible default when it is unknown
+     */
+    private int getDisplayRefreshRate() {
+        try {
+            int refreshRate = getGraphicsConfiguration().getDevice().getDisplayMode().getRefreshRate();
+            if (refreshRate != DisplayMode.REFRESH_RATE_UNKNOWN && refreshRate > 0) {
+                return refreshRate;
+            }
+        } catch (Exception e) { // Headless or exotic devices - fall back to default
+            System.out.println("Could not read display refresh rate: " + e.getMessage());
+        }
+        return DEFAULT_MAX_FPS;
     }
 
     /**
@@ -246,10 +403,12 @@ public class GameView extends JFrame { // View for the Game
      */
     @Override
     public void dispose() {
-        // Stop game timer to prevent memory leaks
-        if (gameTimer != null) {
-            gameTimer.stop();
+        // Stop game loop thread to prevent memory leaks
+        if (gameLoop != null) {
+            gameLoop.stop();
         }
+        eventBus.stop(EVENT_DRAIN_MILLIS); // Let pending events (like a score save) finish
+        persistence.shutdown(EVENT_DRAIN_MILLIS);
         // Call parent dispose method
         super.dispose();
     }
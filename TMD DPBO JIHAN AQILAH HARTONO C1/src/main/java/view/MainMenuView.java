@@ -2,16 +2,19 @@ package view; // Contains the main menu view for the game
 
 import viewmodel.MainMenuViewModel; // ViewModel for the Main Menu
 import model.GameResult; // Model class for handling game results
+import util.AssetLoader; // Decodes images on worker threads
+import util.CompatibleImages; // Converts images to the screen's pixel format
+import util.DirtyRegion; // Collects the area the bubbles moved over
+import util.VolatileLayer; // Static layers kept in video memory
 
-import javax.imageio.ImageIO; // Import for image handling
 import javax.swing.*; // Import necessary Swing components for GUI
 import javax.swing.table.DefaultTableModel; // Import for table model
 import javax.swing.table.DefaultTableCellRenderer; // Import for table cell rendering
 import java.awt.*; // Import necessary AWT classes for graphics and layout
 import java.awt.event.ActionEvent; // Import for action events
 import java.awt.event.ActionListener; // Import for action listeners
+import java.awt.event.HierarchyEvent; // Import for showing and hiding the menu
 import java.awt.image.BufferedImage; // Import for buffered images
-import java.io.InputStream; // Import for input streams
 import java.util.Random; // Import for random number generation
 
 // MainMenuView class represents the main menu of the game
@@ -25,6 +28,8 @@ public class MainMenuView extends JFrame {
     // Buttons for game actions
     private JButton playButton;
     private JButton quitButton;
+    // Shows how many game assets are still loading
+    private JLabel loadingLabel;
     
     // Constructor to initialize the main menu view
     public MainMenuView() {
@@ -33,6 +38,11 @@ public class MainMenuView extends JFrame {
         setupLayout();
         loadScoreData();
         
+        // Follow the game assets that started loading in Main
+        AssetLoader.getShared().addProgressListener((name, loaded, requested) ->
+                SwingUtilities.invokeLater(this::showLoadingProgress));
+        showLoadingProgress();
+        
         // Start background music di main menu
         startMainMenuMusic();
     }
@@ -91,6 +101,12 @@ public class MainMenuView extends JFrame {
         quitButton.setFocusPainted(false);
         quitButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
         
+        // Loading progress label, kept one line high so the layout does not jump when it empties
+        loadingLabel = new JLabel(" ");
+        loadingLabel.setFont(new Font("Pixeloid Mono", Font.PLAIN, 11));
+        loadingLabel.setForeground(new Color(255, 255, 255, 200));
+        loadingLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        
         // Mouse hover effects for buttons
         playButton.addMouseListener(new java.awt.event.MouseAdapter() {
             public void mouseEntered(java.awt.event.MouseEvent evt) {
@@ -157,64 +173,7 @@ public class MainMenuView extends JFrame {
     private void setupLayout() {
         setLayout(new BorderLayout());
         // Main panel with background image and bubble effects
-        JPanel mainPanel = new JPanel() {
-            private BufferedImage bgImg;
-            {
-                try { // Try to load the background image from resources
-                    String[] imageFormats = {".png", ".jpg", ".jpeg"}; // List of possible image formats
-                    for (String format : imageFormats) { // Loop through each format
-                        try { // Attempt to load the image
-                            InputStream is = getClass().getResourceAsStream("/images/background" + format);
-                            if (is != null) { // If the image is found
-                                bgImg = ImageIO.read(is);
-                                System.out.println("Main menu background loaded: background" + format);
-                                break;
-                            }
-                        } catch (Exception e) { // If loading fails, print the error and try the next format
-                            // Try next format
-                        }
-                    }
-                } catch (Exception e) { // If all formats fail, print an error message
-                    System.out.println("Could not load main menu background: " + e.getMessage());
-                }
-            }
-             
-            @Override // Override paintComponent to draw the background and bubble effects
-            protected void paintComponent(Graphics g) { 
-                // Graphics2D for better rendering
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                // Draw the background image or gradient
-                if (bgImg != null) {
-                    g2d.drawImage(bgImg, 0, 0, getWidth(), getHeight(), null);
-                    g2d.setColor(new Color(0, 20, 40, 80));
-                    g2d.fillRect(0, 0, getWidth(), getHeight());
-                } else { // If image loading fails, draw a gradient background
-                    GradientPaint gradient = new GradientPaint(
-                        0, 0, new Color(20, 50, 80),
-                        0, getHeight(), new Color(10, 30, 60)
-                    );
-                    g2d.setPaint(gradient);
-                    g2d.fillRect(0, 0, getWidth(), getHeight());
-                }
-                
-                // Draw bubble effects
-                drawBubbleEffects(g2d);
-            }
-            
-            // Method to draw bubble effects on the background
-            private void drawBubbleEffects(Graphics2D g2d) {
-                g2d.setColor(new Color(255, 255, 255, 25));
-                Random random = new Random(42);
-                for (int i = 0; i < 20; i++) {
-                    int x = random.nextInt(getWidth());
-                    int y = random.nextInt(getHeight());
-                    int size = 5 + random.nextInt(15);
-                    g2d.fillOval(x, y, size, size);
-                }
-            }
-        };
+        JPanel mainPanel = new MenuBackgroundPanel();
         // Set the main panel properties
         mainPanel.setLayout(new BoxLayout(mainPanel, BoxLayout.Y_AXIS));
         mainPanel.setBorder(BorderFactory.createEmptyBorder(25, 40, 25, 40));
@@ -255,6 +214,7 @@ public class MainMenuView extends JFrame {
         inputPanel.add(instructionLabel);
         inputPanel.add(Box.createVerticalStrut(10));
         inputPanel.add(usernameRow);
+        inputPanel.add(loadingLabel);
         
         // Score panel
         JPanel scorePanel = createScorePanel();
@@ -276,6 +236,147 @@ public class MainMenuView extends JFrame {
         add(mainPanel, BorderLayout.CENTER);
     }
 
+    /**
+     * MenuBackgroundPanel class - Menu background with rising bubbles
+     * The scaled background image and its overlay are composited once per panel size into
+     * a cached layer, so repainting the table or the buttons only copies part of it. The
+     * bubbles are a separate layer moved by a timer while the menu is on screen; each
+     * step paints only the old and new bounds of each bubble that moved
+     */
+    static class MenuBackgroundPanel extends JPanel {
+        private static final int BUBBLE_COUNT = 20; // Bubbles on screen
+        private static final int BUBBLE_FRAME_MILLIS = 33; // Bubble animation step, about 30 per second
+        private final Color bubbleColor = new Color(255, 255, 255, 25); // Faint white
+
+        private BufferedImage bgImg; // Background image at full size (null = gradient)
+        private VolatileLayer backgroundLayer; // Background composited at the panel size
+        private final float[] bubbleX = new float[BUBBLE_COUNT], bubbleY = new float[BUBBLE_COUNT]; // Bubble positions
+        private final float[] bubbleSpeed = new float[BUBBLE_COUNT]; // Pixels risen per step
+        private final int[] bubbleSize = new int[BUBBLE_COUNT]; // Bubble diameters
+        private final Random random = new Random(42); // Same bubbles every time the menu opens
+        private final DirtyRegion bubbleDamage = new DirtyRegion(BUBBLE_COUNT); // Areas a bubble step covers, one per bubble unless they touch
+        private final Rectangle bubbleBounds = new Rectangle(); // One of the bubbleDamage areas, as handed to Swing
+        private final Timer bubbleTimer = new Timer(BUBBLE_FRAME_MILLIS, e -> moveBubbles());
+        private int bubbleWidth, bubbleHeight; // Panel size the bubbles were placed for
+
+        MenuBackgroundPanel() {
+            // Same decoded image as the game background; waits only if it is still loading
+            bgImg = AssetLoader.getShared().getImage("background");
+            if (bgImg == null) {
+                System.out.println("Could not load main menu background");
+            }
+
+            // Animate the bubbles only while the menu is on screen
+            addHierarchyListener(e -> {
+                if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+                    if (isShowing()) {
+                        bubbleTimer.start();
+                    } else {
+                        bubbleTimer.stop();
+                    }
+                }
+            });
+        }
+
+        @Override // Override paintComponent to draw the background and bubble effects
+        protected void paintComponent(Graphics g) {
+            // Graphics2D for better rendering
+            Graphics2D g2d = (Graphics2D) g;
+
+            // Cached background, composited again only when the panel size changes
+            if (backgroundLayer == null || backgroundLayer.getWidth() != getWidth()
+                    || backgroundLayer.getHeight() != getHeight()) {
+                generateBackground();
+            }
+            backgroundLayer.draw(g2d, 0, 0);
+
+            // Draw bubble effects
+            drawBubbleEffects(g2d);
+        }
+
+        // Method to composite the background image or gradient and its overlay at the panel size
+        private void generateBackground() {
+            int width = Math.max(1, getWidth()), height = Math.max(1, getHeight());
+            BufferedImage background = CompatibleImages.create(width, height, Transparency.OPAQUE);
+            Graphics2D g2d = background.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            // Draw the background image or gradient
+            if (bgImg != null) {
+                g2d.drawImage(bgImg, 0, 0, width, height, null);
+                g2d.setColor(new Color(0, 20, 40, 80));
+                g2d.fillRect(0, 0, width, height);
+            } else { // If image loading fails, draw a gradient background
+                GradientPaint gradient = new GradientPaint(
+                    0, 0, new Color(20, 50, 80),
+                    0, height, new Color(10, 30, 60)
+                );
+                g2d.setPaint(gradient);
+                g2d.fillRect(0, 0, width, height);
+            }
+            g2d.dispose();
+
+            if (backgroundLayer == null) {
+                backgroundLayer = new VolatileLayer(background);
+            } else {
+                backgroundLayer.setContent(background);
+            }
+        }
+
+        // Method to draw bubble effects on the background
+        private void drawBubbleEffects(Graphics2D g2d) {
+            if (bubbleWidth != getWidth() || bubbleHeight != getHeight()) {
+                placeBubbles();
+            }
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setColor(bubbleColor);
+            for (int i = 0; i < BUBBLE_COUNT; i++) {
+                int size = bubbleSize[i];
+                if (g2d.hitClip((int) bubbleX[i], (int) bubbleY[i], size, size)) {
+                    g2d.fillOval((int) bubbleX[i], (int) bubbleY[i], size, size);
+                }
+            }
+        }
+
+        // Method to scatter the bubbles over the panel
+        private void placeBubbles() {
+            bubbleWidth = getWidth();
+            bubbleHeight = getHeight();
+            random.setSeed(42);
+            for (int i = 0; i < BUBBLE_COUNT; i++) {
+                bubbleX[i] = random.nextInt(Math.max(1, bubbleWidth));
+                bubbleY[i] = random.nextInt(Math.max(1, bubbleHeight));
+                bubbleSize[i] = 5 + random.nextInt(15);
+                bubbleSpeed[i] = 0.2f + bubbleSize[i] * 0.03f; // Bigger bubbles rise faster
+            }
+        }
+
+        // Method to let every bubble rise one step and repaint the area around the ones that moved
+        private void moveBubbles() {
+            if (bubbleWidth != getWidth() || bubbleHeight != getHeight() || getWidth() <= 0) return; // Not painted yet
+            bubbleDamage.clear();
+            for (int i = 0; i < BUBBLE_COUNT; i++) {
+                int oldX = (int) bubbleX[i], oldY = (int) bubbleY[i], size = bubbleSize[i];
+                bubbleY[i] -= bubbleSpeed[i];
+                if (bubbleY[i] < -size) { // Left the top - come back in at the bottom
+                    bubbleY[i] = bubbleHeight;
+                    bubbleX[i] = random.nextInt(Math.max(1, bubbleWidth));
+                }
+                int newX = (int) bubbleX[i], newY = (int) bubbleY[i];
+                if (newX == oldX && newY == oldY) continue; // Moved less than a pixel
+
+                // Old and new position, plus a pixel for the anti-aliased edge
+                bubbleDamage.add(Math.min(oldX, newX) - 1, Math.min(oldY, newY) - 1,
+                        Math.abs(newX - oldX) + size + 2, Math.abs(newY - oldY) + size + 2);
+            }
+            bubbleDamage.clipTo(getWidth(), getHeight());
+            for (int i = 0; i < bubbleDamage.getCount(); i++) {
+                // Painted one by one (the timer runs on the EDT): repaint() would merge them into one box
+                paintImmediately(bubbleDamage.getRectangle(i, bubbleBounds));
+            }
+        }
+    }
+
     // Custom rounded border class
     class RoundedBorder extends javax.swing.border.AbstractBorder {
         private int radius;
@@ -370,6 +471,13 @@ public class MainMenuView extends JFrame {
         }
     }
     
+    // Method to show how many assets have loaded, blank once all of them are done
+    private void showLoadingProgress() {
+        AssetLoader assets = AssetLoader.getShared();
+        int loaded = assets.getLoadedCount(), requested = assets.getRequestedCount(); // Newest counts, whichever update arrives last
+        loadingLabel.setText(loaded < requested ? "Loading game assets... " + loaded + "/" + requested : " ");
+    }
+    
     // Method to start the game with the given username
     private void startGame(String username) {
         this.setVisible(false);
@@ -0,0 +1,159 @@
+package viewmodel; // Regression check that the game tick does not allocate
+
+import util.ManualGameClock; // Import ManualGameClock to step game time one tick at a time
+import java.lang.management.ManagementFactory; // Import ManagementFactory to reach the thread MXBean
+
+/**
+ * AllocationCheck class - Verifies that GameViewModel.update() allocates nothing in steady state
+ * Plays headless sessions driven by the aiming bot and measures the heap bytes the
+ * simulating thread allocates while ticking, using the HotSpot ThreadMXBean. A warm-up
+ * phase lets pools, columns and the collision grid grow to size and the JIT settle
+ * first. A session that allocates is played a second time: sessions are deterministic,
+ * so allocations made by the game repeat, while one-off JVM effects (such as objects
+ * rematerialised on deoptimisation) do not.
+ * Exits with 1 if any measured session allocated, 2 if the JVM cannot measure
+ *
+ * Usage: java viewmodel.AllocationCheck [--sessions N] [--warmup N] [--seed S]
+ */
+public class AllocationCheck {
+    private int sessions = 200; // Number of measured sessions
+    private int warmupSessions = 1000; // Number of sessions played before measuring
+    private long seed = 1L; // Seed of the first session
+    private static final long MAX_TICKS = 60L * GameViewModel.TICKS_PER_SECOND; // Tick limit per session
+
+    private final com.sun.management.ThreadMXBean threads; // Source of per-thread allocation counters
+    private final long threadId; // The thread that runs the simulation
+    private long measurementOverhead; // Bytes allocated by reading the counter itself
+    private long lastSessionTicks; // Number of ticks the last session lasted
+
+    // Constructor to set up the allocation counter for the current thread
+    public AllocationCheck() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            throw new UnsupportedOperationException("This JVM does not report per-thread allocations");
+        }
+        threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            throw new UnsupportedOperationException("This JVM does not report per-thread allocations");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        threadId = Thread.currentThread().getId();
+    }
+
+    // Method to read how many bytes this thread has allocated so far
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(threadId);
+    }
+
+    // Method to measure what two back-to-back counter reads cost, so it is not blamed on the game
+    private void calibrate() {
+        long smallest = Long.MAX_VALUE;
+        for (int i = 0; i < 10_000; i++) {
+            long before = allocatedBytes();
+            long after = allocatedBytes();
+            smallest = Math.min(smallest, after - before);
+        }
+        measurementOverhead = smallest;
+    }
+
+    /**
+     * Play one session on the given game
+     * @return Bytes allocated while ticking, not counting startGame() or the counter reads
+     */
+    private long playSession(GameViewModel game, ManualGameClock clock, long sessionSeed) {
+        InputScript bot = InputScript.aimingBot(sessionSeed, 30, 40);
+        game.startGame();
+
+        long tick = 0;
+        long before = allocatedBytes();
+        while (tick < MAX_TICKS && game.isGameRunning()) {
+            bot.apply(game, tick);
+            clock.advanceNanos(GameViewModel.TICK_NANOS);
+            game.update();
+            tick++;
+        }
+        long after = allocatedBytes();
+        lastSessionTicks = tick;
+        return Math.max(0, after - before - measurementOverhead);
+    }
+
+    // Method to run the warm-up and the measured sessions, returns true if nothing allocated
+    public boolean run() {
+        ManualGameClock clock = new ManualGameClock();
+        GameViewModel game = new GameViewModel(clock, seed);
+
+        // Publish game events like the real game does; they are delivered on another thread
+        GameEventBus events = new GameEventBus();
+        GameEventSubscribers.Statistics statistics = new GameEventSubscribers.Statistics();
+        events.subscribe(statistics);
+        events.start("allocation-check-events");
+        game.setEventBus(events);
+
+        // The bots are created outside the measured window, so warm up their code too
+        for (int i = 0; i < warmupSessions; i++) {
+            playSession(game, clock, seed + i);
+        }
+        calibrate();
+
+        long totalBytes = 0, totalTicks = 0;
+        int allocatingSessions = 0;
+        for (int i = 0; i < sessions; i++) {
+            long sessionSeed = seed + warmupSessions + i;
+            long bytes = playSession(game, clock, sessionSeed);
+            if (bytes > 0) {
+                bytes = Math.min(bytes, playSession(game, clock, sessionSeed)); // Confirm it repeats
+            }
+            totalTicks += lastSessionTicks;
+            totalBytes += bytes;
+            if (bytes > 0) {
+                allocatingSessions++;
+                System.out.println("Session " + sessionSeed + " allocated " + bytes + " bytes");
+            }
+        }
+
+        System.out.printf("Measured %d ticks in %d sessions: %d bytes allocated (%.3f bytes/tick)%n",
+                totalTicks, sessions, totalBytes, totalTicks == 0 ? 0.0 : (double) totalBytes / totalTicks);
+        System.out.println(game.getPoolStatistics());
+        events.stop(1000);
+        System.out.println("Game events: " + events.getPublishedCount() + " published, " + events.getDroppedCount()
+                + " dropped, " + statistics.getThrowCount() + " throws delivered");
+        return allocatingSessions == 0;
+    }
+
+    // Method to parse the command line arguments
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--sessions": sessions = Math.max(1, Integer.parseInt(value)); break;
+                case "--warmup": warmupSessions = Math.max(0, Integer.parseInt(value)); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        AllocationCheck check;
+        try {
+            check = new AllocationCheck();
+            check.parseArguments(args);
+        } catch (RuntimeException e) {
+            System.err.println("Allocation check failed to start: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        if (check.run()) {
+            System.out.println("OK: the game tick does not allocate");
+            System.exit(0);
+        } else {
+            System.out.println("FAILED: the game tick allocates");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package viewmodel; // Regression check for the jellyfish lookups and the grid queries behind them
+
+import util.Geometry; // Import Geometry for the exact segment test the brute force uses
+import util.SpatialHashGrid; // Import SpatialHashGrid to check its queries directly
+import java.util.Random; // Import Random for the seeded layouts and queries
+
+/**
+ * CollisionCheck class - Verifies SkillBallStore's lookups and SpatialHashGrid's queries
+ * Fills a store with seeded random jellyfish, some of them partly or wholly outside the
+ * game area, and compares every lookup with a brute-force loop over all balls:
+ * the point, box and segment queries of the grid must report every ball that could
+ * match, each at most once; findAt must return the highest ball containing a point;
+ * findFirstOnSegment must return the ball a segment enters first and
+ * getLastHitParameter where it enters. Between layouts balls are moved and removed,
+ * so the lazily rebuilt grid is checked after changes too.
+ * Exits with 1 if any case fails
+ *
+ * Usage: java viewmodel.CollisionCheck [--layouts N] [--queries N] [--seed S]
+ */
+public class CollisionCheck {
+    private static final int WIDTH = 800, HEIGHT = 600; // Game area the store covers
+    private static final int MAX_BALLS = 400; // Most balls in one layout
+    private static final int MARGIN = 80; // Balls and queries reach this far outside the game area
+
+    private int layouts = 50; // Random layouts checked
+    private int queries = 200; // Queries of each kind per layout
+    private long seed = 1L; // Seed of the layouts and queries
+    private int failures; // Cases that failed
+
+    private Random random; // Generator for the current run
+    private SkillBallStore store; // Balls of the current layout
+    private int[] found = new int[0]; // Query buffer for the grid
+    private int[] seen = new int[0]; // Times each ball was reported by the current query
+
+    // Method to report a failed case
+    private void fail(String message) {
+        if (failures < 20) {
+            System.out.println("FAIL: " + message);
+        }
+        failures++;
+    }
+
+    // Method to pick a coordinate in the game area or up to MARGIN outside it
+    private float coordinate(int size) {
+        return -MARGIN + random.nextFloat() * (size + 2 * MARGIN);
+    }
+
+    // Method to check whether ball i overlaps a box, edges included
+    private boolean overlaps(int i, float minX, float minY, float maxX, float maxY) {
+        float x = store.getX(i), y = store.getY(i);
+        return x <= maxX && minX <= x + SkillBallStore.BALL_SIZE && y <= maxY && minY <= y + SkillBallStore.BALL_SIZE;
+    }
+
+    // Method to describe a query for the failure messages
+    private static String describe(String query, float... values) {
+        StringBuilder text = new StringBuilder(query).append('(');
+        for (int k = 0; k < values.length; k++) {
+            text.append(k == 0 ? "" : ", ").append(values[k]);
+        }
+        return text.append(')').toString();
+    }
+
+    /**
+     * Check the result of one grid query against the brute force
+     * @param mustReport Whether each ball has to be among the results
+     */
+    private void checkReported(String query, int n, boolean[] mustReport) {
+        int count = store.size();
+        for (int i = 0; i < count; i++) {
+            seen[i] = 0;
+        }
+        for (int k = 0; k < n; k++) {
+            int i = found[k];
+            if (i < 0 || i >= count) {
+                fail(query + ": reported ball " + i + " of " + count);
+                return;
+            }
+            if (++seen[i] == 2) {
+                fail(query + ": reported ball " + i + " twice");
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (mustReport[i] && seen[i] == 0) {
+                fail(query + ": missed ball " + i + " at (" + store.getX(i) + ", " + store.getY(i) + ")");
+            }
+        }
+    }
+
+    // Method to check point queries and findAt at random points
+    private void checkPoints(boolean[] mustReport) {
+        for (int q = 0; q < queries; q++) {
+            int px = (int) coordinate(WIDTH), py = (int) coordinate(HEIGHT);
+            int expected = -1;
+            for (int i = 0; i < store.size(); i++) {
+                float x = store.getX(i), y = store.getY(i);
+                mustReport[i] = px >= x && px < x + SkillBallStore.BALL_SIZE && py >= y && py < y + SkillBallStore.BALL_SIZE;
+                if (mustReport[i]) {
+                    expected = i;
+                }
+            }
+
+            String query = describe("queryPoint", px, py);
+            checkReported(query, store.getGrid().queryPoint(px, py, found), mustReport);
+            int actual = store.findAt(px, py);
+            if (actual != expected) {
+                fail(describe("findAt", px, py) + ": ball " + actual + ", expected " + expected);
+            }
+        }
+    }
+
+    // Method to check box queries with random boxes, from a single point up to a few cells
+    private void checkBoxes(boolean[] mustReport) {
+        for (int q = 0; q < queries; q++) {
+            float minX = coordinate(WIDTH), minY = coordinate(HEIGHT);
+            float maxX = minX + (q % 4 == 0 ? 0 : random.nextFloat() * 200);
+            float maxY = minY + (q % 4 == 0 ? 0 : random.nextFloat() * 200);
+            for (int i = 0; i < store.size(); i++) {
+                mustReport[i] = overlaps(i, minX, minY, maxX, maxY);
+            }
+            SpatialHashGrid grid = store.getGrid();
+            checkReported(describe("queryBox", minX, minY, maxX, maxY),
+                    grid.queryBox(minX, minY, maxX, maxY, found), mustReport);
+        }
+    }
+
+    // Method to check segment queries, findFirstOnSegment and the contact parameter with random segments
+    private void checkSegments(boolean[] mustReport) {
+        for (int q = 0; q < queries; q++) {
+            float x0 = coordinate(WIDTH), y0 = coordinate(HEIGHT);
+            float x1 = coordinate(WIDTH), y1 = coordinate(HEIGHT);
+            if (q % 10 == 0) x1 = x0; // Plenty of vertical segments
+            if (q % 10 == 1) y1 = y0; // And horizontal ones
+            float dx = x1 - x0, dy = y1 - y0;
+
+            int expected = -1;
+            float expectedT = Float.MAX_VALUE;
+            for (int i = 0; i < store.size(); i++) {
+                float x = store.getX(i), y = store.getY(i);
+                float t = Geometry.segmentBoxEntry(x0, y0, dx, dy,
+                        x, y, x + SkillBallStore.BALL_SIZE, y + SkillBallStore.BALL_SIZE);
+                mustReport[i] = t >= 0;
+                if (t >= 0 && t <= expectedT) { // Ties go to the highest index
+                    expectedT = t;
+                    expected = i;
+                }
+            }
+
+            String query = describe("querySegment", x0, y0, x1, y1);
+            checkReported(query, store.getGrid().querySegment(x0, y0, x1, y1, found), mustReport);
+            int actual = store.findFirstOnSegment(x0, y0, x1, y1);
+            float actualT = store.getLastHitParameter();
+            if (actual != expected) {
+                fail(describe("findFirstOnSegment", x0, y0, x1, y1) + ": ball " + actual + ", expected " + expected);
+            } else if (expected < 0 ? actualT != -1 : actualT != expectedT) {
+                fail(describe("findFirstOnSegment", x0, y0, x1, y1) + ": contact parameter " + actualT
+                        + ", expected " + (expected < 0 ? -1 : expectedT));
+            }
+        }
+    }
+
+    // Method to move, remove and add some balls, so the grid has to be rebuilt
+    private void changeLayout() {
+        store.updateAndCull(-MARGIN, WIDTH + MARGIN);
+        for (int k = store.size() / 4; k > 0 && !store.isEmpty(); k--) {
+            store.swapRemove(random.nextInt(store.size()));
+        }
+        int added = random.nextInt(MAX_BALLS - store.size() + 1);
+        for (int k = 0; k < added; k++) {
+            store.add(coordinate(WIDTH), coordinate(HEIGHT), -4 + random.nextFloat() * 8, -4 + random.nextFloat() * 8, 0);
+        }
+    }
+
+    // Method to run every case, returns true if all of them passed
+    public boolean run() {
+        random = new Random(seed);
+        store = new SkillBallStore(WIDTH, HEIGHT);
+        found = new int[MAX_BALLS];
+        seen = new int[MAX_BALLS];
+        boolean[] mustReport = new boolean[MAX_BALLS];
+        long balls = 0;
+        for (int layout = 0; layout < layouts; layout++) {
+            changeLayout();
+            balls += store.size();
+            checkPoints(mustReport);
+            checkBoxes(mustReport);
+            checkSegments(mustReport);
+        }
+        System.out.println("Checked " + layouts + " layouts of " + (layouts == 0 ? 0 : balls / layouts)
+                + " balls on average, " + queries + " queries of each kind per layout");
+        return failures == 0;
+    }
+
+    // Method to parse the command line arguments
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--layouts": layouts = Math.max(0, Integer.parseInt(value)); break;
+                case "--queries": queries = Math.max(0, Integer.parseInt(value)); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        CollisionCheck check = new CollisionCheck();
+        try {
+            check.parseArguments(args);
+        } catch (RuntimeException e) {
+            System.err.println("Collision check failed to start: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        if (!check.run()) {
+            System.out.println("FAILED: " + check.failures + " lookups failed");
+            System.exit(1);
+        } else {
+            System.out.println("OK: every lookup finds the balls it should");
+            System.exit(0);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package viewmodel; // Copy of everything the renderer needs to draw one frame
+
+import java.util.Arrays; // Import Arrays to grow the copied columns
+
+/**
+ * FrameSnapshot class - The game state as of one simulation tick, as seen by the renderer
+ * GameViewModel fills a snapshot at the end of a tick and publishes it through a
+ * TripleBuffer; the renderer only ever reads snapshots, so it never touches the live
+ * game objects and needs no lock. Snapshots are reused: the arrays only grow, so
+ * filling one allocates nothing in steady state
+ */
+public class FrameSnapshot {
+    // Game state
+    long tick; // Tick the snapshot was taken after
+    boolean gameRunning, gameOver;
+    int score, count, lives, maxLives;
+
+    // Player
+    int playerX, playerY, playerWidth, playerHeight;
+
+    // Skill balls, indices 0 .. ballCount-1
+    float[] ballX = new float[64], ballY = new float[64];
+    int[] ballSpecies = new int[64];
+    int ballCount;
+    SpawnTable spawnTable; // Table the species rows refer to; tables never change, so sharing it is safe
+
+    // Lasso
+    boolean lassoActive, lassoReturning;
+    float lassoOriginX, lassoOriginY, lassoTipX, lassoTipY;
+
+    // Shooting cutscene
+    boolean cutsceneActive;
+    float cutsceneBallX, cutsceneBallY, cutsceneProgress;
+    int cutsceneSpecies;
+    int cutscenePoints;
+
+    // Caught ball animations, indices 0 .. animationCount-1
+    float[] animationX = new float[16], animationY = new float[16], animationScale = new float[16];
+    int[] animationSpecies = new int[16], animationPoints = new int[16];
+    int animationCount;
+
+    // Method to copy the ball columns, growing the arrays if needed
+    void captureBalls(SkillBallStore balls) {
+        int n = balls.size();
+        if (ballX.length < n) {
+            int capacity = Math.max(n, ballX.length * 2);
+            ballX = Arrays.copyOf(ballX, capacity);
+            ballY = Arrays.copyOf(ballY, capacity);
+            ballSpecies = Arrays.copyOf(ballSpecies, capacity);
+        }
+        for (int i = 0; i < n; i++) {
+            ballX[i] = balls.getX(i);
+            ballY[i] = balls.getY(i);
+            ballSpecies[i] = balls.getSpecies(i);
+        }
+        ballCount = n;
+    }
+
+    // Method to make room for the given number of caught ball animations
+    void ensureAnimationCapacity(int n) {
+        if (animationX.length < n) {
+            int capacity = Math.max(n, animationX.length * 2);
+            animationX = Arrays.copyOf(animationX, capacity);
+            animationY = Arrays.copyOf(animationY, capacity);
+            animationScale = Arrays.copyOf(animationScale, capacity);
+            animationSpecies = Arrays.copyOf(animationSpecies, capacity);
+            animationPoints = Arrays.copyOf(animationPoints, capacity);
+        }
+    }
+
+    // Getters - game state
+    public long getTick() { return tick; }
+    public boolean isGameRunning() { return gameRunning; }
+    public boolean isGameOver() { return gameOver; }
+    public int getScore() { return score; }
+    public int getCount() { return count; }
+    public int getLives() { return lives; }
+    public int getMaxLives() { return maxLives; }
+
+    // Getters - player
+    public int getPlayerX() { return playerX; }
+    public int getPlayerY() { return playerY; }
+    public int getPlayerWidth() { return playerWidth; }
+    public int getPlayerHeight() { return playerHeight; }
+
+    // Getters - skill balls by index
+    public int getBallCount() { return ballCount; }
+    public float getBallX(int i) { return ballX[i]; }
+    public float getBallY(int i) { return ballY[i]; }
+    public int getBallSpecies(int i) { return ballSpecies[i]; }
+    public int getBallSize() { return SkillBallStore.BALL_SIZE; }
+    public SpawnTable getSpawnTable() { return spawnTable; }
+
+    // Getters - lasso
+    public boolean isLassoActive() { return lassoActive; }
+    public boolean isLassoReturning() { return lassoReturning; }
+    public float getLassoOriginX() { return lassoOriginX; }
+    public float getLassoOriginY() { return lassoOriginY; }
+    public float getLassoTipX() { return lassoTipX; }
+    public float getLassoTipY() { return lassoTipY; }
+
+    // Getters - shooting cutscene
+    public boolean isCutsceneActive() { return cutsceneActive; }
+    public float getCutsceneBallX() { return cutsceneBallX; }
+    public float getCutsceneBallY() { return cutsceneBallY; }
+    public float getCutsceneProgress() { return cutsceneProgress; }
+    public int getCutsceneSpecies() { return cutsceneSpecies; }
+    public int getCutscenePoints() { return cutscenePoints; }
+
+    // Getters - caught ball animations by index
+    public int getAnimationCount() { return animationCount; }
+    public float getAnimationX(int i) { return animationX[i]; }
+    public float getAnimationY(int i) { return animationY[i]; }
+    public float getAnimationScale(int i) { return animationScale[i]; }
+    public int getAnimationSpecies(int i) { return animationSpecies[i]; }
+    public int getAnimationPoints(int i) { return animationPoints[i]; }
+}
@@ -0,0 +1,256 @@
+package viewmodel; // Hands game events from the simulation to audio, saving, logging and statistics
+
+import java.util.concurrent.CopyOnWriteArrayList; // Import CopyOnWriteArrayList so listeners can be added while events flow
+import java.util.concurrent.atomic.AtomicLong; // Import AtomicLong for the ring buffer positions
+import java.util.concurrent.locks.LockSupport; // Import LockSupport to let the dispatcher sleep and wake up
+
+/**
+ * GameEventBus class - Ring buffer of game events, delivered on a separate thread
+ * The game only writes an event's type, numbers and species into preallocated arrays, so
+ * publishing never allocates, blocks or does I/O. A daemon dispatcher thread reads
+ * the events in order and calls the listeners, which are free to play sounds, talk
+ * to the database or print.
+ * There may be one publisher at a time (the thread holding the view model lock). If
+ * the listeners fall a whole buffer behind, new events are dropped and counted
+ * instead of making the game wait. GAME_OVER is the exception, because it saves the
+ * result: it goes into a reserved slot behind the events before it, and only if that
+ * slot still holds an earlier GAME_OVER does the game wait for the dispatcher
+ */
+public class GameEventBus {
+    public static final int DEFAULT_CAPACITY = 1024; // Events the buffer holds, a power of two
+    private static final long IDLE_PARK_NANOS = 2_000_000L; // Longest the dispatcher sleeps between checks
+    private static final long RESERVED_WAIT_NANOS = 100_000L; // Publisher's sleep while the reserved slot is taken
+
+    // Kinds of game events
+    public enum Type { LASSO_THROWN, BALL_CAUGHT, LIFE_LOST, GAME_OVER }
+
+    /**
+     * Listener interface - Receives game events on the dispatcher thread
+     * Every method does nothing by default, so a listener only overrides what it needs
+     */
+    public interface Listener {
+        // The player threw the lasso at the target point
+        default void onLassoThrown(long tick, int targetX, int targetY) {}
+
+        // A ball was caught; score is the total after the catch
+        default void onBallCaught(long tick, SpawnTable.Entry species, int points, int score) {}
+
+        // The lasso missed and a life was lost
+        default void onLifeLost(long tick, int livesLeft) {}
+
+        // The session ended, by losing the last life or by the player quitting
+        default void onGameOver(long tick, int score, int count) {}
+    }
+
+    private static final Type[] TYPES = Type.values(); // Ordinal lookup
+
+    // Ring buffer columns, slot = sequence & mask
+    private final int mask;
+    private final byte[] types;
+    private final long[] ticks;
+    private final int[] a, b, c; // Event payload, meaning depends on the type
+    private final SpawnTable.Entry[] species; // Caught species of BALL_CAUGHT events
+
+    private final AtomicLong published = new AtomicLong(); // Sequence of the next event to write
+    private final AtomicLong consumed = new AtomicLong(); // Sequence of the next event to deliver
+    private long dropped; // Events lost because the buffer was full (publisher side)
+
+    // Reserved slot for a GAME_OVER that found the buffer full
+    private volatile boolean reserved; // Set while the slot holds an undelivered event
+    private long reservedSequence; // The event comes right before this ring position
+    private long reservedTick;
+    private int reservedScore, reservedCount;
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>(); // Subscribers
+    private volatile Thread dispatcher; // Delivers the events (null when not started)
+    private volatile boolean running; // Dispatcher keeps going while set
+    private volatile boolean idle; // Dispatcher is parked and wants a wake-up
+    private final Object deliveryLock = new Object(); // Only one thread delivers at a time
+
+    // Constructor for a bus with the default capacity
+    public GameEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Constructor for a bus holding the given number of events (rounded up to a power of two)
+    public GameEventBus(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        mask = size - 1;
+        types = new byte[size];
+        ticks = new long[size];
+        a = new int[size];
+        b = new int[size];
+        c = new int[size];
+        species = new SpawnTable.Entry[size];
+    }
+
+    // Method to add a listener; it receives the events published from now on
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    // Methods for the game to publish events
+    public void publishLassoThrown(long tick, int targetX, int targetY) {
+        publish(Type.LASSO_THROWN, tick, null, targetX, targetY, 0);
+    }
+
+    public void publishBallCaught(long tick, SpawnTable.Entry species, int points, int score) {
+        publish(Type.BALL_CAUGHT, tick, species, points, score, 0);
+    }
+
+    public void publishLifeLost(long tick, int livesLeft) {
+        publish(Type.LIFE_LOST, tick, null, livesLeft, 0, 0);
+    }
+
+    public void publishGameOver(long tick, int score, int count) {
+        publish(Type.GAME_OVER, tick, null, score, count, 0);
+    }
+
+    // Method to write one event into the next free slot
+    private void publish(Type type, long tick, SpawnTable.Entry species, int a, int b, int c) {
+        long sequence = published.get();
+        if (sequence - consumed.get() > mask) {
+            if (type != Type.GAME_OVER || !reserveGameOver(sequence, tick, a, b)) {
+                dropped++; // Listeners are a whole buffer behind - never make the game wait
+            }
+            return;
+        }
+        int slot = (int) sequence & mask;
+        types[slot] = (byte) type.ordinal();
+        ticks[slot] = tick;
+        this.species[slot] = species;
+        this.a[slot] = a;
+        this.b[slot] = b;
+        this.c[slot] = c;
+        published.lazySet(sequence + 1); // Makes the slot visible to the dispatcher
+        wakeDispatcher();
+    }
+
+    /**
+     * Keep a GAME_OVER that found the buffer full in the reserved slot, first waiting for
+     * the dispatcher to deliver an earlier one still held there
+     * @return false only if the slot is taken and no dispatcher is running to free it
+     */
+    private boolean reserveGameOver(long sequence, long tick, int score, int count) {
+        while (reserved) {
+            if (dispatcher == null) return false;
+            wakeDispatcher();
+            LockSupport.parkNanos(this, RESERVED_WAIT_NANOS);
+        }
+        reservedSequence = sequence;
+        reservedTick = tick;
+        reservedScore = score;
+        reservedCount = count;
+        reserved = true; // Makes the fields above visible to the dispatcher
+        wakeDispatcher();
+        return true;
+    }
+
+    // Method to wake the dispatcher if it is sleeping
+    private void wakeDispatcher() {
+        if (idle) {
+            Thread thread = dispatcher;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    // Method to start the daemon thread that delivers events
+    public synchronized void start(String threadName) {
+        if (dispatcher != null) return;
+        running = true;
+        Thread thread = new Thread(this::dispatchLoop, threadName);
+        thread.setDaemon(true); // Never keeps the application alive
+        dispatcher = thread;
+        thread.start();
+    }
+
+    /**
+     * Stop the dispatcher after it delivered everything published so far
+     * @param timeoutMillis Longest time to wait for the remaining events
+     */
+    public synchronized void stop(long timeoutMillis) {
+        Thread thread = dispatcher;
+        if (thread == null) return;
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dispatcher = null;
+    }
+
+    // Main loop of the dispatcher thread
+    private void dispatchLoop() {
+        while (running) {
+            if (deliverPending() == 0) {
+                idle = true;
+                if (published.get() == consumed.get() && !reserved && running) { // Re-check after announcing the sleep
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+            }
+        }
+        deliverPending(); // Whatever was published before stop()
+    }
+
+    /**
+     * Deliver every event published so far to every listener
+     * @return Number of events delivered
+     */
+    private int deliverPending() {
+        synchronized (deliveryLock) {
+            long next = consumed.get();
+            long end = published.get();
+            int delivered = 0;
+            for (long sequence = next; sequence < end; sequence++) {
+                delivered += deliverReserved(sequence);
+                int slot = (int) sequence & mask;
+                deliver(TYPES[types[slot]], ticks[slot], species[slot], a[slot], b[slot], c[slot]);
+                consumed.set(sequence + 1); // The slot may be reused from here on
+            }
+            return delivered + deliverReserved(end) + (int) (end - next);
+        }
+    }
+
+    /**
+     * Deliver the reserved GAME_OVER if it comes right before the given ring position
+     * @return 1 if it was delivered, otherwise 0
+     */
+    private int deliverReserved(long sequence) {
+        if (!reserved || reservedSequence != sequence) return 0;
+        deliver(Type.GAME_OVER, reservedTick, null, reservedScore, reservedCount, 0);
+        reserved = false; // The publisher may fill the slot again
+        return 1;
+    }
+
+    // Method to call every listener for one event
+    private void deliver(Type type, long tick, SpawnTable.Entry species, int a, int b, int c) {
+        for (Listener listener : listeners) {
+            try {
+                switch (type) {
+                    case LASSO_THROWN: listener.onLassoThrown(tick, a, b); break;
+                    case BALL_CAUGHT: listener.onBallCaught(tick, species, a, b); break;
+                    case LIFE_LOST: listener.onLifeLost(tick, a); break;
+                    case GAME_OVER: listener.onGameOver(tick, a, b); break;
+                }
+            } catch (RuntimeException e) { // One broken listener must not stop the others
+                System.err.println("Game event listener failed on " + type + ": " + e);
+            }
+        }
+    }
+
+    // Getters
+    public int getCapacity() { return mask + 1; }
+    public long getPublishedCount() { return published.get(); }
+    public long getDroppedCount() { return dropped; }
+    public boolean isRunning() { return dispatcher != null; }
+}
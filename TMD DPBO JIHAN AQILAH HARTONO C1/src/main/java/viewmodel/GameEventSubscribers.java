@@ -0,0 +1,168 @@
+package viewmodel; // Standard listeners for the game event bus
+
+import model.Database; // Import the Database class to save game results
+import util.AudioManager; // Import AudioManager to play sound effects
+import java.util.LinkedHashMap; // Import LinkedHashMap to count catches per species in the order first caught
+import java.util.Map; // Import Map for the per-species counts
+import java.util.concurrent.ExecutorService; // Import ExecutorService for the thread that saves results
+import java.util.concurrent.Executors; // Import Executors to create that thread
+import java.util.concurrent.TimeUnit; // Import TimeUnit for the wait on the last save
+
+/**
+ * GameEventSubscribers class - The side effects of a game, as event bus listeners
+ * Sound, saving, console output and statistics used to run inside the game tick;
+ * as listeners they run on the bus's dispatcher thread instead
+ */
+public final class GameEventSubscribers {
+    private GameEventSubscribers() {} // Only static factories
+
+    // Method to get a listener that plays the web shooting sound on every throw
+    public static GameEventBus.Listener audio() {
+        return new GameEventBus.Listener() {
+            @Override
+            public void onLassoThrown(long tick, int targetX, int targetY) {
+                AudioManager.getInstance().playWebShoot();
+            }
+        };
+    }
+
+    // Method to get a listener that saves the result for the given player when the session ends
+    public static Persistence persistence(String username) {
+        return new Persistence(username);
+    }
+
+    // Method to get a listener that prints every event to the console
+    public static GameEventBus.Listener logging() {
+        return new GameEventBus.Listener() {
+            @Override
+            public void onLassoThrown(long tick, int targetX, int targetY) {
+                System.out.println("Tick " + tick + ": lasso thrown at " + targetX + ", " + targetY);
+            }
+
+            @Override
+            public void onBallCaught(long tick, SpawnTable.Entry species, int points, int score) {
+                System.out.println("Tick " + tick + ": ball caught! " + species.getId() + " +" + points + ", score " + score);
+            }
+
+            @Override
+            public void onLifeLost(long tick, int livesLeft) {
+                System.out.println("Tick " + tick + ": lasso missed! Lives remaining: " + livesLeft);
+            }
+
+            @Override
+            public void onGameOver(long tick, int score, int count) {
+                System.out.println("Tick " + tick + ": GAME OVER! Score " + score + ", balls caught " + count);
+            }
+        };
+    }
+
+    /**
+     * Persistence class - Saves the result for one player when the session ends
+     * A database call can take a while, and on the dispatcher thread it would hold up
+     * every sound behind it, so the save runs on a thread of its own. Call shutdown()
+     * before reading the results back, so the last save is finished
+     */
+    public static class Persistence implements GameEventBus.Listener {
+        private final String username; // Player the results are saved for
+        private final ExecutorService saver = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "score-saver");
+            thread.setDaemon(true); // Never keeps the application alive
+            return thread;
+        });
+
+        // Constructor for the given player; no result is saved without a name
+        public Persistence(String username) {
+            this.username = username;
+        }
+
+        @Override
+        public void onGameOver(long tick, int score, int count) {
+            if (username != null && !username.trim().isEmpty()) {
+                saver.execute(() -> {
+                    Database.saveOrUpdateResult(username, score, count);
+                    System.out.println("Score saved: " + score + ", Count: " + count);
+                });
+            }
+        }
+
+        /**
+         * Stop taking saves and wait for the ones already handed over
+         * @param timeoutMillis Longest time to wait
+         */
+        public void shutdown(long timeoutMillis) {
+            saver.shutdown();
+            try {
+                saver.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Statistics class - Counts throws, catches per species and lost lives over a session
+     * Read it after GameEventBus.stop(), so every event is counted
+     */
+    public static class Statistics implements GameEventBus.Listener {
+        private final Map<String, int[]> caughtBySpecies = new LinkedHashMap<>(); // Catches per species id
+        private int throwCount, caughtCount, livesLost, points;
+        private long lastTick;
+
+        @Override
+        public void onLassoThrown(long tick, int targetX, int targetY) {
+            throwCount++;
+            lastTick = tick;
+        }
+
+        @Override
+        public void onBallCaught(long tick, SpawnTable.Entry species, int points, int score) {
+            int[] caught = caughtBySpecies.get(species.getId());
+            if (caught == null) {
+                caught = new int[1];
+                caughtBySpecies.put(species.getId(), caught);
+            }
+            caught[0]++;
+            caughtCount++;
+            this.points += points;
+            lastTick = tick;
+        }
+
+        @Override
+        public void onLifeLost(long tick, int livesLeft) {
+            livesLost++;
+            lastTick = tick;
+        }
+
+        @Override
+        public void onGameOver(long tick, int score, int count) {
+            lastTick = tick;
+        }
+
+        // Method to get the share of throws that caught a ball (0..1)
+        public double getAccuracy() {
+            return throwCount == 0 ? 0 : (double) caughtCount / throwCount;
+        }
+
+        // Getters
+        public int getThrowCount() { return throwCount; }
+        public int getCaughtCount() { return caughtCount; }
+        public int getCaught(String speciesId) {
+            int[] caught = caughtBySpecies.get(speciesId);
+            return caught == null ? 0 : caught[0];
+        }
+        public int getLivesLost() { return livesLost; }
+        public int getPoints() { return points; }
+
+        @Override // Report line for logs
+        public String toString() {
+            StringBuilder report = new StringBuilder(String.format(
+                    "Session statistics: %d throws, %d caught (%.0f%% accuracy), %d lives lost, %d points in %.1f s",
+                    throwCount, caughtCount, getAccuracy() * 100, livesLost, points,
+                    lastTick / (double) GameViewModel.TICKS_PER_SECOND));
+            for (Map.Entry<String, int[]> caught : caughtBySpecies.entrySet()) {
+                report.append(", ").append(caught.getKey()).append(' ').append(caught.getValue()[0]);
+            }
+            return report.toString();
+        }
+    }
+}
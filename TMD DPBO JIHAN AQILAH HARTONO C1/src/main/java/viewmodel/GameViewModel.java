@@ -1,20 +1,24 @@
 package viewmodel; // ViewModel for the Game
 
-import model.Database; // Import the Database class to save game results
 import model.Player; // Import the Player class to represent the player in the game
-import java.awt.*; // Import AWT classes for Point and Rectangle
-import java.util.ArrayList; // Import ArrayList to manage collections of skill balls and lasso points
-import java.util.List; // Import List to handle collections of skill balls and lasso points
+import util.GameClock; // Import GameClock as the source of game time
+import util.ObjectPool; // Import ObjectPool to reuse cutscenes
+import util.TripleBuffer; // Import TripleBuffer to hand frames to the renderer without locks
+import java.awt.*; // Import AWT classes for Color
+import java.util.ArrayList; // Import ArrayList to manage collections of animations
+import java.util.List; // Import List to handle collections of animations
 import java.util.Random; // Import Random to generate random numbers for skill ball spawning
 
 public class GameViewModel { // ViewModel for the Game
     private Player player; // Player object representing the player in the game
-    private List<SkillBall> skillBalls; // List of skill balls currently in the game
-    private List<Point> lassoPoints; // List of points representing the lasso trajectory
+    private SkillBallStore skillBalls; // Skill balls currently in the game, stored as primitive columns
     private List<CaughtBallAnimation> caughtBalls; // List of caught ball animations
     private ShootingCutscene shootingCutscene; // Shooting cutscene for when a ball is caught
     private boolean lassoReturning; // Flag to indicate if the lasso is returning
-    private Point lassoTarget;  // Target point for the lasso throw
+    private final Lasso lasso; // The web lasso, extending from the player's hand
+    private float lassoSpeed = Lasso.DEFAULT_SPEED; // Lasso extension speed in pixels per second
+    private SpawnSettings spawnSettings = SpawnSettings.normal(); // How jellyfish are spawned
+    private SpawnTable spawnTable; // Which jellyfish spawn and what they are worth (the default is loaded on first use)
     private int score; // Current score of the player
     private int count; // Count of balls caught by the player
     private int lives; // Number of lives remaining for the player
@@ -22,85 +26,115 @@ public class GameViewModel { // ViewModel for the Game
     private boolean gameOver; // Game over state
     private Random random; // Random number generator for spawning skill balls
     private long lastBallSpawn; // Timestamp of the last skill ball spawn
-    private String currentUsername; // Current username of the player, used for saving results
     private long lassoStartTime; // Timestamp when the lasso was thrown
     private long bounceBackStartTime; // For fast bounce back
     private static final long LASSO_DURATION = 1000; // Faster timeout
     private static final long BOUNCE_BACK_DURATION = 300; // Fast bounce back (0.3s)
     private static final int MAX_LIVES = 4; // 4 lives to match your assets
-
-    // Enum for different types of skill balls with their points and colors
+    public static final int TICKS_PER_SECOND = 60; // Fixed simulation rate
+    public static final long TICK_NANOS = 1_000_000_000L / TICKS_PER_SECOND; // Game time per tick
+    private final GameClock clock; // Source of game time
+    private long currentTime; // Game time in milliseconds, read once per tick
+    private long tickCount; // Number of ticks simulated since the game started
+    private ReplayRecorder replayRecorder; // Records player input for replays (may be null)
+    private GameEventBus eventBus; // Receives game events for sound, saving and logging (may be null)
+    private final ObjectPool<ShootingCutscene> cutscenePool; // Reused shooting cutscenes
+    private final TripleBuffer<FrameSnapshot> frames = new TripleBuffer<>(FrameSnapshot::new); // Published frames
+
+    // Enum for the directions the player can move in
+    public enum MoveDirection { UP, DOWN, LEFT, RIGHT }
+
+    // Enum for the built-in jellyfish, only used to draw them when their sprite is missing (species are SpawnTable rows)
     public enum BallType {
-        JF3(10, Color.PINK), // Jellyfish 1
-        JF1(20, Color.RED), // Jellyfish 2
-        JF2(30, Color.BLUE), // Jellyfish 3
-        JF4(100, Color.BLACK); // Jellyfish 4
+        JF3(Color.PINK), // Jellyfish 1
+        JF1(Color.RED), // Jellyfish 2
+        JF2(Color.BLUE), // Jellyfish 3
+        JF4(Color.BLACK); // Jellyfish 4
 
-        private final int points;
         private final Color color;
 
-        BallType(int points, Color color) {
-            this.points = points;
+        BallType(Color color) {
             this.color = color;
         }
 
-        public int getPoints() { return points; }
         public Color getColor() { return color; }
     }
 
     // Constructor to initialize the GameViewModel
     public GameViewModel() {
+        this(GameClock.system());
+    }
+
+    // Constructor for a game that reads time from the given clock
+    public GameViewModel(GameClock clock) {
+        this(clock, new Random());
+    }
+
+    // Constructor for a seeded game; the same seed and input give the same session
+    public GameViewModel(GameClock clock, long seed) {
+        this(clock, new Random(seed));
+    }
+
+    // Shared constructor
+    private GameViewModel(GameClock clock, Random random) {
+        this.clock = clock;
+        this.currentTime = clock.millis();
+        this.cutscenePool = new ObjectPool<>("ShootingCutscene", 2, ShootingCutscene::new, ShootingCutscene::reset).prefill(1);
         player = new Player(400, 250);
-        skillBalls = new ArrayList<>();
-        lassoPoints = new ArrayList<>();
+        skillBalls = new SkillBallStore();
         caughtBalls = new ArrayList<>();
         shootingCutscene = null;
         lassoReturning = false;
-        lassoTarget = null;
-        random = new Random();
+        lasso = new Lasso();
+        this.random = random;
         gameRunning = false;
         gameOver = false; 
         score = 0;
         count = 0;
         lives = MAX_LIVES;
-        lastBallSpawn = System.currentTimeMillis();
+        lastBallSpawn = currentTime;
         lassoStartTime = 0;
         bounceBackStartTime = 0; // NEW
     }
 
-    // Method to start a new game with the given username
-    public void startGame(String username) {
-        this.currentUsername = username;
+    // Method to start a new game
+    public void startGame() {
         gameRunning = true;
         gameOver = false; // NEW
         score = 0;
         count = 0;
         lives = MAX_LIVES;
         skillBalls.clear();
-        lassoPoints.clear();
+        lasso.clear();
         caughtBalls.clear();
+        cutscenePool.release(shootingCutscene);
         shootingCutscene = null;
         lassoReturning = false;
-        lassoTarget = null;
         player = new Player(400, 250);
+        currentTime = clock.millis();
+        lastBallSpawn = currentTime;
+        tickCount = 0;
     }
 
-    // Method to stop the game and save results if applicable
+    // Method to stop the game; a session still running ends with a game over event, which saves the result
     public void stopGame() {
-        gameRunning = false;
-        if (currentUsername != null && !currentUsername.trim().isEmpty()) {
-            Database.saveOrUpdateResult(currentUsername, score, count);
+        if (gameRunning && eventBus != null) {
+            eventBus.publishGameOver(tickCount, score, count);
         }
+        gameRunning = false;
     }
 
     // Method to update the game state
     public void update() {
         if (!gameRunning) return;
+        tickCount++;
+        long now = currentTime = clock.millis(); // The only clock read in a tick
 
         // Update shooting cutscene
         if (shootingCutscene != null) {
-            shootingCutscene.update();
-            if (shootingCutscene.isFinished()) {
+            shootingCutscene.update(now);
+            if (shootingCutscene.isFinished(now)) {
+                cutscenePool.release(shootingCutscene);
                 shootingCutscene = null;
             }
             return;
@@ -113,30 +147,36 @@ public class GameViewModel { // ViewModel for the Game
         }
 
         // Normal game update - DON'T PAUSE DURING BOUNCE BACK
-        if (System.currentTimeMillis() - lastBallSpawn > 1200) { // Even faster spawn
-            spawnSkillBall();
-            lastBallSpawn = System.currentTimeMillis();
+        if (now - lastBallSpawn > spawnSettings.getIntervalMillis()) { // Even faster spawn
+            int burst = Math.min(spawnSettings.getBurstSize(), spawnSettings.getMaxEntities() - skillBalls.size());
+            for (int i = 0; i < burst; i++) {
+                spawnSkillBall();
+            }
+            lastBallSpawn = now;
         }
 
-        skillBalls.removeIf(ball -> {
-            ball.update();
-            return ball.getX() < -50 || ball.getX() > 850;
-        });
+        skillBalls.updateAndCull(-50, 850); // Move every ball and drop the ones that left the screen
 
-        caughtBalls.removeIf(animation -> {
-            animation.update();
-            return animation.isFinished();
-        });
+        // Advance caught ball animations, dropping finished ones (a loop, so the tick allocates nothing)
+        for (int i = caughtBalls.size() - 1; i >= 0; i--) {
+            CaughtBallAnimation animation = caughtBalls.get(i);
+            animation.update(now);
+            if (animation.isFinished(now)) {
+                caughtBalls.remove(i);
+            }
+        }
 
         // Check collision EVERY FRAME jika ada lasso
-        if (!lassoPoints.isEmpty()) {
+        if (lasso.isActive()) {
+            lasso.setLength(lassoSpeed * (now - lassoStartTime) / 1000f); // Extend towards the target
+
             if (checkLassoCollision()) {
                 // Ball caught - collision already handled in checkLassoCollision()
                 return;
             }
             
             // Check if lasso reached target atau timeout
-            if (hasLassoReachedTarget() || System.currentTimeMillis() - lassoStartTime > LASSO_DURATION) {
+            if (hasLassoReachedTarget() || now - lassoStartTime > LASSO_DURATION) {
                 // No collision found, start IMMEDIATE bounce back
                 startFastBounceBack();
             }
@@ -145,165 +185,187 @@ public class GameViewModel { // ViewModel for the Game
 
     // Method untuk check apakah lasso sudah sampai target
     private boolean hasLassoReachedTarget() {
-        if (lassoTarget == null || lassoPoints.isEmpty()) return false;
-        
-        Point lastPoint = lassoPoints.get(lassoPoints.size() - 1);
-        int distance = (int)Math.sqrt(
-            Math.pow(lastPoint.x - lassoTarget.x, 2) + 
-            Math.pow(lastPoint.y - lassoTarget.y, 2)
-        );
-        
-        return distance < 20; // Tolerance 20 pixels
+        return lasso.isActive() && lasso.isFullyExtended();
     }
 
     // Method to spawn a new skill ball with random type and position
     private void spawnSkillBall() {
-        BallType ballType;
-        float rand = random.nextFloat();
-        
-        if (rand < 0.05f) {
-            ballType = BallType.JF4; // 5% chance for JF4 (paling sedikit)
-        } else if (rand < 0.3f) {
-            ballType = BallType.JF3; // 25% chance for web love
-        } else if (rand < 0.55f) {
-            ballType = BallType.JF1; // 25% chance for JF1
-        } else {
-            ballType = BallType.JF2; // 22.5% chance for JF2
-        }
-        
+        int species = getSpawnTable().sample(random); // One random number, however many species
+        SpawnTable.Entry entry = getSpawnTable().getEntry(species);
+
         boolean fromTop = random.nextBoolean();
 
-        // CONSTANT speed - tidak berubah-ubah
-        int speed = 2; // Kecepatan konstan (diperbaiki syntax error)
+        // Speed of the species in the normal game, or the range of the spawn settings (swarm mode)
+        float minSpeed = spawnSettings.usesTableSpeeds() ? entry.getMinSpeed() : spawnSettings.getMinSpeed();
+        float maxSpeed = spawnSettings.usesTableSpeeds() ? entry.getMaxSpeed() : spawnSettings.getMaxSpeed();
+        float speed = minSpeed;
+        if (maxSpeed > speed) {
+            speed += random.nextFloat() * (maxSpeed - speed);
+        }
 
         if (fromTop) {
-            skillBalls.add(new SkillBall(800, 50 + random.nextInt(150), -speed, 0, ballType));
+            skillBalls.add(800, 50 + random.nextInt(150), -speed, 0, species);
         } else {
-            skillBalls.add(new SkillBall(-50, 350 + random.nextInt(150), speed, 0, ballType));
+            skillBalls.add(-50, 350 + random.nextInt(150), speed, 0, species);
         }
     }
 
     // Method to throw the lasso towards a target point
     public void throwLasso(int targetX, int targetY) {
-        if (!gameRunning || shootingCutscene != null || lassoReturning || gameOver) return;
-
-        System.out.println("throwLasso called - about to play sound");
-    
-        // PLAY SOUND EFFECT saat shooting web - DENGAN DEBUG
-        try {
-            util.AudioManager.getInstance().playWebShoot();
-            System.out.println("Sound play command executed");
-        } catch (Exception e) {
-            System.out.println("Error calling playWebShoot: " + e.getMessage());
-            e.printStackTrace();
+        if (!gameRunning || shootingCutscene != null || lassoReturning || lasso.isActive() || gameOver) return;
+
+        if (replayRecorder != null) {
+            replayRecorder.recordThrow(tickCount, targetX, targetY);
+        }
+
+        if (eventBus != null) {
+            eventBus.publishLassoThrown(tickCount, targetX, targetY); // Sound plays on the event thread
         }
 
-        lassoPoints.clear();
-        lassoStartTime = System.currentTimeMillis();
-        lassoTarget = new Point(targetX, targetY);
+        lassoStartTime = currentTime;
 
         // Calculate hand position based on player position
         Player player = getPlayer();
         int handOffsetX = player.getX() + (int)(player.getWidth() * 0.75); // 75% ke kanan (tangan kanan)
         int handOffsetY = player.getY() + (int)(player.getHeight() * 0.6);  // 40% dari atas (posisi tangan)
 
-        // Calculate points along the lasso trajectory
-        int dx = targetX - handOffsetX;
-        int dy = targetY - handOffsetY;
-        double distance = Math.sqrt(dx * dx + dy * dy);
+        // The lasso starts at the hand and extends towards the target over the next ticks
+        lasso.throwTowards(handOffsetX, handOffsetY, targetX, targetY);
+    }
+
+    // Method to move the player one step in the given direction
+    public void movePlayer(MoveDirection direction) {
+        if (!gameRunning) return;
+
+        if (replayRecorder != null) {
+            replayRecorder.recordMove(tickCount, direction);
+        }
+
+        switch (direction) {
+            case UP: player.moveUp(); break;
+            case DOWN: player.moveDown(); break;
+            case LEFT: player.moveLeft(); break;
+            case RIGHT: player.moveRight(); break;
+        }
+    }
+
+    // Method to set how fast the lasso extends, in pixels per second
+    public void setLassoSpeed(float lassoSpeed) {
+        if (lassoSpeed <= 0) {
+            throw new IllegalArgumentException("Lasso speed must be positive: " + lassoSpeed);
+        }
+        this.lassoSpeed = lassoSpeed;
+    }
+
+    // Method to set how jellyfish are spawned, e.g. SpawnSettings.swarm() for a stress test
+    public void setSpawnSettings(SpawnSettings spawnSettings) {
+        this.spawnSettings = spawnSettings;
+    }
+
+    // Method to set the table of species that spawn, e.g. one read from a replay
+    public void setSpawnTable(SpawnTable spawnTable) {
+        this.spawnTable = spawnTable;
+    }
 
-        for (int i = 0; i <= distance; i += 2) {
-            double ratio = i / distance;
-            int x = (int) (handOffsetX + dx * ratio);
-            int y = (int) (handOffsetY + dy * ratio);
-            lassoPoints.add(new Point(x, y));
+    // Method to get the table of species that spawn, loading the default one if none was set
+    public SpawnTable getSpawnTable() {
+        if (spawnTable == null) {
+            spawnTable = SpawnTable.getDefault();
         }
+        return spawnTable;
+    }
+
+    // Method to set the bus that receives game events, or null for none
+    public void setEventBus(GameEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    // Method to set the recorder that captures player input for a replay
+    public void setReplayRecorder(ReplayRecorder replayRecorder) {
+        this.replayRecorder = replayRecorder;
     }
 
     // Method to handle fast bounce back when lasso misses
     private void startFastBounceBack() {
-        System.out.println("Lasso missed! Fast bounce back...");
         lassoReturning = true;
-        bounceBackStartTime = System.currentTimeMillis();
+        bounceBackStartTime = currentTime;
+        lasso.startRetract();
 
         // IMMEDIATE life loss
         lives--;
-        System.out.println("Life lost! Lives remaining: " + lives);
+        if (eventBus != null) {
+            eventBus.publishLifeLost(tickCount, lives);
+        }
 
         if (lives <= 0) {
-            // Trigger game over
+            // Trigger game over - the event bus saves the score off the tick thread
             gameOver = true;
             gameRunning = false;
-            System.out.println("GAME OVER! No more lives!");
-            // TAMBAHAN: Simpan skor ke database saat game over
-            if (currentUsername != null && !currentUsername.trim().isEmpty()) {
-                Database.saveOrUpdateResult(currentUsername, score, count);
-                System.out.println("Score saved: " + score + ", Count: " + count);
+            if (eventBus != null) {
+                eventBus.publishGameOver(tickCount, score, count);
             }
         }
     }
 
-    // Method to update the lasso points during fast bounce back
+    // Method to pull the lasso back towards the hand during fast bounce back
     private void updateFastBounceBack() {
         // Check if bounce back is in progress
-        long elapsed = System.currentTimeMillis() - bounceBackStartTime;
+        long elapsed = currentTime - bounceBackStartTime;
         float progress = Math.min(1.0f, (float)elapsed / BOUNCE_BACK_DURATION);
 
         if (progress >= 1.0f) { 
             // Bounce back complete
-            lassoPoints.clear();
+            lasso.clear();
             lassoReturning = false;
             return;
         }
 
-        // Calculate how many points to remove based on progress
-        int originalSize = lassoPoints.size();
-        int targetSize = (int)(originalSize * (1.0f - progress));
-
-        // Remove points from the end of the list to simulate bounce back
-        while (lassoPoints.size() > targetSize && !lassoPoints.isEmpty()) {
-            lassoPoints.remove(lassoPoints.size() - 1);
-        }
+        // Shorten the lasso from the tip back towards the hand
+        lasso.retract(progress);
     }
 
     // Method to check for lasso collision with skill balls
     private boolean checkLassoCollision() {
-        if (lassoPoints.isEmpty()) return false;
-
-        // Check if lasso is returning
-        for (Point lassoPoint : lassoPoints) {
-            for (int i = skillBalls.size() - 1; i >= 0; i--) {
-                SkillBall ball = skillBalls.get(i);
-                if (ball.getBounds().contains(lassoPoint)) {
-                    System.out.println("Ball caught! Starting cutscene...");
-
-                    // Updated basket coordinates untuk posisi ujung yang benar
-                    int basketX = 800 - 130 + 60;  // Center of new basket position (closer to edge)
-                    int basketY = 10 + 50;         // Center of new basket position
-                    shootingCutscene = new ShootingCutscene(
-                            ball.getX() + ball.getWidth()/2,
-                            ball.getY() + ball.getHeight()/2,
-                            basketX, basketY,
-                            ball.getType()
-                    );
-
-                    // Add caught ball animation
-                    score += ball.getType().getPoints();
-                    count++;
-                    skillBalls.remove(i);
-                    lassoPoints.clear();
-                    lassoReturning = false;
-                    return true;
-                }
+        if (!lasso.isActive()) return false;
+
+        // Find the first ball along the lasso, going out from the hand
+        int i = skillBalls.findFirstOnSegment(lasso.getOriginX(), lasso.getOriginY(), lasso.getTipX(), lasso.getTipY());
+        if (i >= 0) {
+            int species = skillBalls.getSpecies(i);
+            int points = getSpawnTable().getEntry(species).getPoints();
+
+            // Updated basket coordinates untuk posisi ujung yang benar
+            int basketX = 800 - 130 + 60;  // Center of new basket position (closer to edge)
+            int basketY = 10 + 50;         // Center of new basket position
+            shootingCutscene = cutscenePool.acquire();
+            shootingCutscene.start(
+                    (int) skillBalls.getX(i) + skillBalls.getWidth()/2,
+                    (int) skillBalls.getY(i) + skillBalls.getHeight()/2,
+                    basketX, basketY,
+                    species,
+                    points,
+                    currentTime
+            );
+
+            score += points;
+            count++;
+            if (eventBus != null) {
+                eventBus.publishBallCaught(tickCount, getSpawnTable().getEntry(species), points, score);
             }
+            skillBalls.swapRemove(i);
+            lasso.clear();
+            lassoReturning = false;
+            return true;
         }
         return false;
     }
 
     // Getters
     public Player getPlayer() { return player; }
-    public List<SkillBall> getSkillBalls() { return skillBalls; }
-    public List<Point> getLassoPoints() { return lassoPoints; }
+    public SkillBallStore getSkillBalls() { return skillBalls; }
+    public Lasso getLasso() { return lasso; }
+    public float getLassoSpeed() { return lassoSpeed; }
+    public SpawnSettings getSpawnSettings() { return spawnSettings; }
     public List<CaughtBallAnimation> getCaughtBalls() { return caughtBalls; }
     public ShootingCutscene getShootingCutscene() { return shootingCutscene; }
     public boolean isLassoReturning() { return lassoReturning; }
@@ -313,40 +375,128 @@ public class GameViewModel { // ViewModel for the Game
     public int getMaxLives() { return MAX_LIVES; }
     public boolean isGameRunning() { return gameRunning; }
     public boolean isGameOver() { return gameOver; } // NEW
+    public GameEventBus getEventBus() { return eventBus; }
+    public GameClock getClock() { return clock; }
+    public long getTickCount() { return tickCount; }
+
+    /**
+     * Copy the current state into a frame snapshot and publish it to the renderer
+     * Only one thread may publish at a time, so call it from the simulation thread or
+     * while holding the lock that serialises the simulation
+     */
+    public void publishFrame() {
+        FrameSnapshot frame = frames.getWriteBuffer();
+        frame.tick = tickCount;
+        frame.gameRunning = gameRunning;
+        frame.gameOver = gameOver;
+        frame.score = score;
+        frame.count = count;
+        frame.lives = lives;
+        frame.maxLives = MAX_LIVES;
+
+        frame.playerX = player.getX();
+        frame.playerY = player.getY();
+        frame.playerWidth = player.getWidth();
+        frame.playerHeight = player.getHeight();
+
+        frame.captureBalls(skillBalls);
+        frame.spawnTable = getSpawnTable();
+
+        frame.lassoActive = lasso.isActive();
+        frame.lassoReturning = lassoReturning;
+        frame.lassoOriginX = lasso.getOriginX();
+        frame.lassoOriginY = lasso.getOriginY();
+        frame.lassoTipX = lasso.getTipX();
+        frame.lassoTipY = lasso.getTipY();
+
+        frame.cutsceneActive = shootingCutscene != null;
+        if (shootingCutscene != null) {
+            frame.cutsceneBallX = shootingCutscene.getBallX();
+            frame.cutsceneBallY = shootingCutscene.getBallY();
+            frame.cutsceneProgress = shootingCutscene.getProgress();
+            frame.cutsceneSpecies = shootingCutscene.getSpecies();
+            frame.cutscenePoints = shootingCutscene.getPoints();
+        }
+
+        int animations = caughtBalls.size();
+        frame.ensureAnimationCapacity(animations);
+        for (int i = 0; i < animations; i++) {
+            CaughtBallAnimation animation = caughtBalls.get(i);
+            frame.animationX[i] = animation.getX();
+            frame.animationY[i] = animation.getY();
+            frame.animationScale[i] = animation.getScale();
+            frame.animationSpecies[i] = animation.getSpecies();
+            frame.animationPoints[i] = animation.getPoints();
+        }
+        frame.animationCount = animations;
+
+        frames.publish();
+    }
+
+    // Method for the renderer to get the newest published frame, valid until its next call
+    public FrameSnapshot getLatestFrame() {
+        return frames.acquireLatest();
+    }
+
+    // Method to get pool hit and miss statistics
+    public String getPoolStatistics() {
+        return cutscenePool.toString();
+    }
 
     // Class to represent the shooting cutscene when a ball is caught
     public static class ShootingCutscene {
         private float ballX, ballY;
         private float ballStartX, ballStartY;
         private float basketX, basketY;
-        private BallType ballType;
+        private int species; // Spawn table row of the caught ball
+        private int points; // Score the caught ball was worth
         public long startTime;
+        private float progress; // Linear progress (0..1) at the last update
         private static final long CUTSCENE_DURATION = 1000; // Even faster
 
+        // Constructor for an idle cutscene, to be started by start() (used by the pool)
+        public ShootingCutscene() {
+        }
+
         // Constructor to initialize the shooting cutscene with start and end positions
-        public ShootingCutscene(int ballStartX, int ballStartY, int basketX, int basketY, BallType ballType) {
+        public ShootingCutscene(int ballStartX, int ballStartY, int basketX, int basketY, int species, int points,
+                                long startTime) {
+            start(ballStartX, ballStartY, basketX, basketY, species, points, startTime);
+        }
+
+        // Method to (re)start the cutscene with start and end positions
+        public void start(int ballStartX, int ballStartY, int basketX, int basketY, int species, int points,
+                          long startTime) {
             this.ballStartX = this.ballX = ballStartX;
             this.ballStartY = this.ballY = ballStartY;
             this.basketX = basketX;
             this.basketY = basketY;
-            this.ballType = ballType;
-            this.startTime = System.currentTimeMillis();
+            this.species = species;
+            this.points = points;
+            this.startTime = startTime;
+            this.progress = 0;
+        }
+
+        // Reset hook for the pool - forget the caught ball so nothing stale is drawn
+        public void reset() {
+            species = -1;
+            progress = 0;
         }
 
         // Method to update the cutscene animation
-        public void update() {
-            long elapsed = System.currentTimeMillis() - startTime;
-            float progress = Math.min(1.0f, (float)elapsed / CUTSCENE_DURATION);
-            progress = (float)(1 - Math.pow(1 - progress, 2));
+        public void update(long now) {
+            long elapsed = now - startTime;
+            progress = Math.min(1.0f, (float)elapsed / CUTSCENE_DURATION);
+            float eased = 1 - (1 - progress) * (1 - progress);
 
-            ballX = ballStartX + (basketX - ballStartX) * progress;
-            ballY = ballStartY + (basketY - ballStartY) * progress;
+            ballX = ballStartX + (basketX - ballStartX) * eased;
+            ballY = ballStartY + (basketY - ballStartY) * eased;
         }
 
         // Method to check if the cutscene is finished
         // Returns true if the cutscene duration has elapsed
-        public boolean isFinished() {
-            return System.currentTimeMillis() - startTime >= CUTSCENE_DURATION;
+        public boolean isFinished(long now) {
+            return now - startTime >= CUTSCENE_DURATION;
         }
 
         // Getters for the cutscene properties
@@ -354,8 +504,10 @@ public class GameViewModel { // ViewModel for the Game
         public float getBallY() { return ballY; }
         public float getBasketX() { return basketX; }
         public float getBasketY() { return basketY; }
-        public BallType getBallType() { return ballType; }
+        public int getSpecies() { return species; }
+        public int getPoints() { return points; }
         public long getStartTime() { return startTime; }
+        public float getProgress() { return progress; }
     }
 
     // Class to represent the animation of a caught ball
@@ -363,80 +515,48 @@ public class GameViewModel { // ViewModel for the Game
         private float x, y;
         private float targetX, targetY;
         private float startX, startY;
-        private BallType type;
+        private int species; // Spawn table row of the caught ball
+        private int points; // Score shown next to the ball
         private long startTime;
+        private float linearProgress; // Progress (0..1) at the last update
         private static final long ANIMATION_DURATION = 600;
 
         // Constructor to initialize the caught ball animation with start and target positions
-        public CaughtBallAnimation(int startX, int startY, int targetX, int targetY, BallType type) {
+        public CaughtBallAnimation(int startX, int startY, int targetX, int targetY, int species, int points,
+                                   long startTime) {
             this.startX = this.x = startX;
             this.startY = this.y = startY;
             this.targetX = targetX;
             this.targetY = targetY;
-            this.type = type;
-            this.startTime = System.currentTimeMillis();
+            this.species = species;
+            this.points = points;
+            this.startTime = startTime;
         }
 
         // Method to update the animation position based on elapsed time
-        public void update() {
-            long elapsed = System.currentTimeMillis() - startTime;
-            float progress = Math.min(1.0f, (float)elapsed / ANIMATION_DURATION);
-            progress = 1 - (1 - progress) * (1 - progress);
+        public void update(long now) {
+            long elapsed = now - startTime;
+            linearProgress = Math.min(1.0f, (float)elapsed / ANIMATION_DURATION);
+            float progress = 1 - (1 - linearProgress) * (1 - linearProgress);
 
             x = startX + (targetX - startX) * progress;
             y = startY + (targetY - startY) * progress;
         }
 
         // Method to check if the animation is finished
-        public boolean isFinished() {
-            return System.currentTimeMillis() - startTime >= ANIMATION_DURATION;
+        public boolean isFinished(long now) {
+            return now - startTime >= ANIMATION_DURATION;
         }
 
         // Getters for the animation properties
         public float getX() { return x; }
         public float getY() { return y; }
-        public BallType getType() { return type; }
+        public int getSpecies() { return species; }
+        public int getPoints() { return points; }
 
-        // Method to get the scale of the animation based on elapsed time
+        // Method to get the scale of the animation based on progress at the last update
         public float getScale() {
-            long elapsed = System.currentTimeMillis() - startTime;
-            float progress = Math.min(1.0f, (float)elapsed / ANIMATION_DURATION);
-            return 1.0f - progress * 0.4f;
+            return 1.0f - linearProgress * 0.4f;
         }
     }
-
-    // Class to represent a skill ball in the game
-    public static class SkillBall {
-        // Fields for the skill ball's position, speed, size, and type
-        private int x, y, dx, dy;
-        private int width = 50, height = 50;
-        private BallType type;
-
-        // Constructor to initialize the skill ball with position, speed, and type
-        public SkillBall(int x, int y, int dx, int dy, BallType type) {
-            this.x = x;
-            this.y = y;
-            this.dx = dx;
-            this.dy = dy;
-            this.type = type;
-        }
-
-        // Method to update the skill ball's position based on its speed
-        public void update() {
-            x += dx;
-            y += dy;
-        }
-
-        // Method to get the bounding rectangle of the skill ball for collision detection
-        public Rectangle getBounds() {
-            return new Rectangle(x, y, width, height);
-        }
-
-        // Getters for the skill ball properties
-        public int getX() { return x; }
-        public int getY() { return y; }
-        public int getWidth() { return width; }
-        public int getHeight() { return height; }
-        public BallType getType() { return type; }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package viewmodel; // Headless simulation runner for balancing and regression runs
+
+import util.ManualGameClock; // Import ManualGameClock to step game time one tick at a time
+import java.io.IOException; // Import IOException for script loading errors
+import java.util.ArrayList; // Import ArrayList to collect session results
+import java.util.List; // Import List to handle collections of futures
+import java.util.concurrent.ExecutorService; // Import ExecutorService to run sessions in parallel
+import java.util.concurrent.Executors; // Import Executors to create the worker pool
+import java.util.concurrent.Future; // Import Future to collect session results
+
+/**
+ * HeadlessRunner class - Plays many seeded game sessions without Swing, audio or a database
+ * Every session runs a headless GameViewModel on a ManualGameClock as fast as the CPU allows,
+ * driven by an InputScript, so results only depend on the seed and the script.
+ * Swarm mode (-Djellyfish.swarm=true, see SpawnSettings) applies to the sessions too
+ *
+ * Usage: java viewmodel.HeadlessRunner [--sessions N] [--seed S] [--threads T]
+ *        [--max-ticks M] [--reaction TICKS] [--aim-error PX] [--lasso-speed PX_PER_S]
+ *        [--script FILE]
+ */
+public class HeadlessRunner {
+    private int sessions = 10000; // Number of sessions to play
+    private long seed = 1L; // Seed of the first session, the others use seed + index
+    private int threads = Runtime.getRuntime().availableProcessors(); // Worker threads
+    private long maxTicks = 60L * GameViewModel.TICKS_PER_SECOND; // Tick limit per session (1 minute)
+    private int reactionTicks = 30; // Average ticks between throws for the aiming bot
+    private int aimError = 40; // Aiming error in pixels for the aiming bot
+    private float lassoSpeed = Lasso.DEFAULT_SPEED; // Lasso extension speed in pixels per second
+    private InputScript.Recorded script; // Optional script file, parsed once, replaces the aiming bot
+    private SpawnSettings spawnSettings = SpawnSettings.fromSystemProperties(); // How jellyfish are spawned
+
+    // Result of a single session
+    public static class SessionResult {
+        private final long seed;
+        private final int score;
+        private final int count;
+        private final long ticks;
+        private final boolean gameOver;
+
+        public SessionResult(long seed, int score, int count, long ticks, boolean gameOver) {
+            this.seed = seed;
+            this.score = score;
+            this.count = count;
+            this.ticks = ticks;
+            this.gameOver = gameOver;
+        }
+
+        // Getters
+        public long getSeed() { return seed; }
+        public int getScore() { return score; }
+        public int getCount() { return count; }
+        public long getTicks() { return ticks; }
+        public boolean isGameOver() { return gameOver; }
+    }
+
+    /**
+     * Play one session until game over or the tick limit
+     * @param seed Seed for the game's random number generator
+     * @param script Input script driving the player
+     * @param maxTicks Maximum number of ticks to simulate
+     * @return The final result of the session
+     */
+    public static SessionResult runSession(long seed, InputScript script, long maxTicks) {
+        return runSession(seed, script, maxTicks, Lasso.DEFAULT_SPEED, SpawnSettings.normal());
+    }
+
+    // Method to play one session with a custom lasso extension speed and spawn settings
+    public static SessionResult runSession(long seed, InputScript script, long maxTicks, float lassoSpeed,
+                                           SpawnSettings spawnSettings) {
+        ManualGameClock clock = new ManualGameClock();
+        GameViewModel game = new GameViewModel(clock, seed);
+        game.setLassoSpeed(lassoSpeed);
+        game.setSpawnSettings(spawnSettings);
+        game.startGame();
+
+        long tick = 0;
+        while (tick < maxTicks && game.isGameRunning()) {
+            script.apply(game, tick); // Input for this tick arrives before it is simulated
+            clock.advanceNanos(GameViewModel.TICK_NANOS); // Exactly one tick of game time
+            game.update();
+            tick++;
+        }
+        return new SessionResult(seed, game.getScore(), game.getCount(), tick, game.isGameOver());
+    }
+
+    // Method to create the input script for one session; a script file is played from its start
+    private InputScript createScript(long sessionSeed) {
+        if (script != null) {
+            return script.play();
+        }
+        return InputScript.aimingBot(sessionSeed ^ 0x5DEECE66DL, reactionTicks, aimError);
+    }
+
+    // Method to play all sessions on a worker pool and print a summary
+    public void run() throws Exception {
+        System.out.println("Running " + sessions + " headless sessions on " + threads + " threads...");
+        if (!spawnSettings.isNormal()) {
+            System.out.println("Swarm mode: " + spawnSettings);
+        }
+        if (script != null) {
+            System.out.println("Script: " + script.size() + " commands, played from the start in every session");
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+
+        try {
+            List<Future<SessionResult>> futures = new ArrayList<>(sessions);
+            for (int i = 0; i < sessions; i++) {
+                final long sessionSeed = seed + i;
+                final InputScript script = createScript(sessionSeed);
+                futures.add(pool.submit(() -> runSession(sessionSeed, script, maxTicks, lassoSpeed, spawnSettings)));
+            }
+
+            // Collect results in submission order so the summary is deterministic
+            long totalScore = 0, totalCount = 0, totalTicks = 0;
+            int gameOvers = 0;
+            SessionResult best = null, worst = null;
+            for (Future<SessionResult> future : futures) {
+                SessionResult result = future.get();
+                totalScore += result.getScore();
+                totalCount += result.getCount();
+                totalTicks += result.getTicks();
+                if (result.isGameOver()) gameOvers++;
+                if (best == null || result.getScore() > best.getScore()) best = result;
+                if (worst == null || result.getScore() < worst.getScore()) worst = result;
+            }
+
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            System.out.printf("Sessions:      %d (%.0f sessions/s, %.0f ticks/s)%n",
+                    sessions, sessions / seconds, totalTicks / seconds);
+            System.out.printf("Mean score:    %.2f (mean caught %.2f)%n",
+                    (double) totalScore / sessions, (double) totalCount / sessions);
+            System.out.printf("Mean length:   %.1f ticks, %d/%d ended in game over%n",
+                    (double) totalTicks / sessions, gameOvers, sessions);
+            if (best != null) {
+                System.out.println("Best score:    " + best.getScore() + " (seed " + best.getSeed() + ")");
+                System.out.println("Worst score:   " + worst.getScore() + " (seed " + worst.getSeed() + ")");
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Method to parse the command line arguments, reading the script file if one is given
+    private void parseArguments(String[] args) throws IOException {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--sessions": sessions = Integer.parseInt(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--threads": threads = Math.max(1, Integer.parseInt(value)); break;
+                case "--max-ticks": maxTicks = Long.parseLong(value); break;
+                case "--reaction": reactionTicks = Math.max(1, Integer.parseInt(value)); break;
+                case "--aim-error": aimError = Math.max(0, Integer.parseInt(value)); break;
+                case "--lasso-speed": lassoSpeed = Float.parseFloat(value); break;
+                case "--script": script = InputScript.parseFile(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        HeadlessRunner runner = new HeadlessRunner();
+        try {
+            runner.parseArguments(args);
+            runner.run();
+        } catch (Exception e) {
+            System.err.println("Headless run failed: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package viewmodel; // Scripted input for driving a GameViewModel without a window
+
+import java.io.BufferedReader; // Import BufferedReader to read script files line by line
+import java.io.FileReader; // Import FileReader to open script files
+import java.io.IOException; // Import IOException for script file errors
+import java.util.ArrayList; // Import ArrayList to collect parsed script commands
+import java.util.List; // Import List to handle collections of script commands
+import java.util.Random; // Import Random for the seeded aiming bot
+
+/**
+ * InputScript interface - Source of player input for headless sessions
+ * A script is asked once per tick, before the tick is simulated, to apply its input
+ * to the game the same way GameView's mouse and key listeners would
+ */
+public interface InputScript {
+
+    /**
+     * Apply the input for one tick
+     * @param game The game being simulated
+     * @param tick Number of ticks simulated so far
+     */
+    void apply(GameViewModel game, long tick);
+
+    /**
+     * Create a bot that aims the lasso at a jellyfish on screen
+     * @param seed Seed for reaction time and aiming error
+     * @param reactionTicks Average number of ticks between throws
+     * @param aimError Maximum aiming error in pixels (0 = perfect aim)
+     * @return A deterministic aiming bot
+     */
+    static InputScript aimingBot(long seed, int reactionTicks, int aimError) {
+        final Random random = new Random(seed);
+        final long[] nextThrow = {reactionTicks};
+        return (game, tick) -> {
+            if (tick < nextThrow[0] || game.getSkillBalls().isEmpty()) return;
+            if (game.getShootingCutscene() != null || game.isLassoReturning() || game.getLasso().isActive()) return;
+
+            // Pick a jellyfish and aim at its centre, with some error
+            SkillBallStore balls = game.getSkillBalls();
+            int ball = random.nextInt(balls.size());
+            int errorX = aimError > 0 ? random.nextInt(aimError * 2 + 1) - aimError : 0;
+            int errorY = aimError > 0 ? random.nextInt(aimError * 2 + 1) - aimError : 0;
+            game.throwLasso((int) balls.getX(ball) + balls.getWidth() / 2 + errorX,
+                    (int) balls.getY(ball) + balls.getHeight() / 2 + errorY);
+
+            nextThrow[0] = tick + reactionTicks / 2 + random.nextInt(reactionTicks + 1);
+        };
+    }
+
+    /**
+     * Load a script file with one command per line:
+     * "tick throw x y" or "tick move left|right|up|down" ("#" starts a comment)
+     * @param path Path of the script file
+     * @return Script that replays the commands at their ticks
+     * @throws IOException If the file cannot be read or has a malformed line
+     */
+    static InputScript fromFile(String path) throws IOException {
+        return parseFile(path).play();
+    }
+
+    /**
+     * Parse a script file in the format of fromFile once, to play it in many sessions
+     * @param path Path of the script file
+     * @return The parsed commands
+     * @throws IOException If the file cannot be read or has a malformed line
+     */
+    static Recorded parseFile(String path) throws IOException {
+        final List<long[]> commands = new ArrayList<>(); // {tick, action, x, y}
+        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                int comment = line.indexOf('#');
+                if (comment >= 0) line = line.substring(0, comment);
+                line = line.trim();
+                if (line.isEmpty()) continue;
+
+                String[] parts = line.split("\\s+");
+                try {
+                    long tick = Long.parseLong(parts[0]);
+                    if (parts[1].equals("throw")) {
+                        commands.add(new long[]{tick, 0, Integer.parseInt(parts[2]), Integer.parseInt(parts[3])});
+                    } else if (parts[1].equals("move")) {
+                        GameViewModel.MoveDirection direction =
+                                GameViewModel.MoveDirection.valueOf(parts[2].toUpperCase());
+                        commands.add(new long[]{tick, 1 + direction.ordinal(), 0, 0});
+                    } else {
+                        throw new IllegalArgumentException("unknown command " + parts[1]);
+                    }
+                } catch (RuntimeException e) {
+                    throw new IOException(path + ":" + lineNumber + ": bad script line '" + line + "' (" + e.getMessage() + ")", e);
+                }
+            }
+        }
+        commands.sort((a, b) -> Long.compare(a[0], b[0]));
+        return new Recorded(commands.toArray(new long[0][]));
+    }
+
+    /**
+     * Recorded class - The commands of a parsed script file
+     * Never changes after parsing, so one instance can be shared by sessions on any
+     * number of threads; each session plays it through its own cursor from play()
+     */
+    final class Recorded {
+        private final long[][] commands; // {tick, action, x, y}, sorted by tick
+
+        private Recorded(long[][] commands) {
+            this.commands = commands;
+        }
+
+        // Method to get a script that replays the commands from the start
+        public InputScript play() {
+            return new InputScript() {
+                private int next = 0; // Index of the next command to apply
+
+                @Override
+                public void apply(GameViewModel game, long tick) {
+                    while (next < commands.length && commands[next][0] <= tick) {
+                        long[] command = commands[next++];
+                        if (command[1] == 0) {
+                            game.throwLasso((int) command[2], (int) command[3]);
+                        } else {
+                            game.movePlayer(GameViewModel.MoveDirection.values()[(int) command[1] - 1]);
+                        }
+                    }
+                }
+            };
+        }
+
+        // Method to get the number of commands
+        public int size() {
+            return commands.length;
+        }
+    }
+}
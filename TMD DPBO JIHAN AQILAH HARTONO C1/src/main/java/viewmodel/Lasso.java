@@ -0,0 +1,75 @@
+package viewmodel; // Model of the web lasso thrown by the player
+
+/**
+ * Lasso class - The web lasso as a ray from the player's hand
+ * It is described by its origin, a unit direction and its current length, so
+ * throwing, extending, retracting and drawing it never depend on how far it was thrown:
+ * extending and retracting only change the length, and the whole lasso is the single
+ * segment from the origin to the tip
+ */
+public class Lasso {
+    public static final float DEFAULT_SPEED = 3000f; // Extension speed in pixels per second
+
+    private float originX, originY; // Hand position the lasso was thrown from
+    private float directionX, directionY; // Unit direction towards the target (0, 0 for a zero-length throw)
+    private float maxLength; // Distance from the origin to the target
+    private float length; // Current length, between 0 and maxLength
+    private float retractFrom; // Length when the retraction started
+    private boolean active; // Flag to indicate if the lasso is out
+
+    /**
+     * Throw the lasso from the origin towards the target, starting at length zero
+     * @param originX Hand x position
+     * @param originY Hand y position
+     * @param targetX Target x position
+     * @param targetY Target y position
+     */
+    public void throwTowards(float originX, float originY, float targetX, float targetY) {
+        float dx = targetX - originX;
+        float dy = targetY - originY;
+        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+
+        this.originX = originX;
+        this.originY = originY;
+        this.maxLength = distance;
+        this.directionX = distance > 0 ? dx / distance : 0;
+        this.directionY = distance > 0 ? dy / distance : 0;
+        this.length = 0;
+        this.active = true;
+    }
+
+    // Method to set how far the lasso is out, clamped to the target distance
+    public void setLength(float length) {
+        this.length = length < 0 ? 0 : length > maxLength ? maxLength : length;
+    }
+
+    // Method to remember the current length as the start of a retraction
+    public void startRetract() {
+        retractFrom = length;
+    }
+
+    // Method to pull the lasso in, progress goes from 0 (just started) to 1 (back at the hand)
+    public void retract(float progress) {
+        setLength(retractFrom * (1f - progress));
+    }
+
+    // Method to take the lasso in completely
+    public void clear() {
+        active = false;
+        length = 0;
+    }
+
+    // Method to check whether the lasso has reached its target
+    public boolean isFullyExtended() {
+        return length >= maxLength;
+    }
+
+    // Getters
+    public boolean isActive() { return active; }
+    public float getOriginX() { return originX; }
+    public float getOriginY() { return originY; }
+    public float getTipX() { return originX + directionX * length; }
+    public float getTipY() { return originY + directionY * length; }
+    public float getLength() { return length; }
+    public float getMaxLength() { return maxLength; }
+}
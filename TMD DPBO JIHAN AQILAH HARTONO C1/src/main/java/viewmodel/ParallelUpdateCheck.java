@@ -0,0 +1,128 @@
+package viewmodel; // Regression check that the parallel swarm update matches the single-threaded one
+
+import util.ManualGameClock; // Import ManualGameClock to step game time one tick at a time
+import java.util.concurrent.ForkJoinPool; // Import ForkJoinPool for the parallel update threads
+
+/**
+ * ParallelUpdateCheck class - Verifies that SkillBallStore's parallel update changes nothing
+ * Plays seeded swarm sessions twice side by side, driven by the same aiming bot: one game
+ * moves its jellyfish on a pool of worker threads from the first ball on, the other never
+ * leaves the single-threaded path. After every tick the score, lives and every ball
+ * column must be identical, in the same order.
+ * Exits with 1 on the first difference, 2 if the parallel path never ran (swarms too small)
+ *
+ * Usage: java viewmodel.ParallelUpdateCheck [--sessions N] [--ticks N] [--threads T] [--seed S]
+ */
+public class ParallelUpdateCheck {
+    private int sessions = 5; // Number of sessions played
+    private long maxTicks = 3000; // Tick limit per session
+    private int threads = 4; // Threads in the parallel pool
+    private long seed = 1L; // Seed of the first session
+    private static final SpawnSettings SWARM = new SpawnSettings(0, 60, 1, 6, 30000); // Swarms large enough to split
+
+    private int largestChunkCount; // Most chunks any parallel update used
+
+    /**
+     * Play one session on both paths
+     * @return Description of the first difference, or null if the games matched on every tick
+     */
+    private String playSession(ForkJoinPool pool, long sessionSeed) {
+        ManualGameClock parallelClock = new ManualGameClock(), serialClock = new ManualGameClock();
+        GameViewModel parallel = new GameViewModel(parallelClock, sessionSeed);
+        GameViewModel serial = new GameViewModel(serialClock, sessionSeed);
+        parallel.setSpawnSettings(SWARM);
+        serial.setSpawnSettings(SWARM);
+        parallel.getSkillBalls().setParallelUpdate(pool, 1);
+        serial.getSkillBalls().setParallelUpdate(pool, Integer.MAX_VALUE);
+        parallel.startGame();
+        serial.startGame();
+
+        InputScript parallelBot = InputScript.aimingBot(sessionSeed, 30, 40);
+        InputScript serialBot = InputScript.aimingBot(sessionSeed, 30, 40);
+        for (long tick = 0; tick < maxTicks && serial.isGameRunning(); tick++) {
+            parallelBot.apply(parallel, tick);
+            serialBot.apply(serial, tick);
+            parallelClock.advanceNanos(GameViewModel.TICK_NANOS);
+            serialClock.advanceNanos(GameViewModel.TICK_NANOS);
+            parallel.update();
+            serial.update();
+
+            SkillBallStore a = parallel.getSkillBalls(), b = serial.getSkillBalls();
+            largestChunkCount = Math.max(largestChunkCount, a.getLastChunkCount());
+            if (parallel.getScore() != serial.getScore() || parallel.getLives() != serial.getLives()
+                    || parallel.isGameRunning() != serial.isGameRunning()) {
+                return "tick " + tick + ": score " + parallel.getScore() + " vs " + serial.getScore()
+                        + ", lives " + parallel.getLives() + " vs " + serial.getLives();
+            }
+            if (a.size() != b.size()) {
+                return "tick " + tick + ": " + a.size() + " vs " + b.size() + " balls";
+            }
+            for (int i = 0; i < a.size(); i++) {
+                if (a.getX(i) != b.getX(i) || a.getY(i) != b.getY(i) || a.getDx(i) != b.getDx(i)
+                        || a.getDy(i) != b.getDy(i) || a.getSpecies(i) != b.getSpecies(i)) {
+                    return "tick " + tick + ": ball " + i + " differs";
+                }
+            }
+        }
+        return null;
+    }
+
+    // Method to play every session, returns true if the two paths always matched
+    public boolean run() {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (int i = 0; i < sessions; i++) {
+                long sessionSeed = seed + i;
+                String difference = playSession(pool, sessionSeed);
+                if (difference != null) {
+                    System.out.println("Session " + sessionSeed + " differs at " + difference);
+                    return false;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("Played " + sessions + " sessions, up to " + largestChunkCount + " chunks per update");
+        return true;
+    }
+
+    // Method to parse the command line arguments
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--sessions": sessions = Math.max(1, Integer.parseInt(value)); break;
+                case "--ticks": maxTicks = Math.max(1, Long.parseLong(value)); break;
+                case "--threads": threads = Math.max(2, Integer.parseInt(value)); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        ParallelUpdateCheck check = new ParallelUpdateCheck();
+        try {
+            check.parseArguments(args);
+        } catch (RuntimeException e) {
+            System.err.println("Parallel update check failed to start: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        if (!check.run()) {
+            System.out.println("FAILED: the parallel update differs from the single-threaded one");
+            System.exit(1);
+        } else if (check.largestChunkCount < 2) {
+            System.out.println("FAILED: the swarms never got large enough to update in parallel");
+            System.exit(2);
+        } else {
+            System.out.println("OK: the parallel update matches the single-threaded one");
+            System.exit(0);
+        }
+    }
+}
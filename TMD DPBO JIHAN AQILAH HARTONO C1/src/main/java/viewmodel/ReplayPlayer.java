@@ -0,0 +1,243 @@
+package viewmodel; // Re-simulates recorded game sessions from replay files
+
+import util.ManualGameClock; // Import ManualGameClock to step game time one tick at a time
+import java.io.BufferedInputStream; // Import BufferedInputStream for fast file reading
+import java.io.DataInputStream; // Import DataInputStream to read binary values
+import java.io.EOFException; // Import EOFException for truncated files
+import java.io.FileInputStream; // Import FileInputStream to open replay files
+import java.io.IOException; // Import IOException for read errors
+import java.io.InputStream; // Import InputStream as the replay source
+
+/**
+ * ReplayPlayer class - Loads a replay written by ReplayRecorder and re-simulates it
+ * The session runs headless on a ManualGameClock, either at full speed or paced at a
+ * multiple of real time, and the final score is checked against the recorded one
+ *
+ * Usage: java viewmodel.ReplayPlayer FILE [--speed X]   (X <= 0 means full speed)
+ */
+public class ReplayPlayer {
+    private final long seed; // Seed of the recorded session
+    private final int ticksPerSecond; // Tick rate the session was recorded at
+    private final SpawnSettings spawnSettings; // Spawn settings of the recorded session
+    private final SpawnTable spawnTable; // Spawn table of the recorded session
+    private final long[] inputTicks; // Tick of every input
+    private final int[] inputOps; // Opcode of every input
+    private final int[] inputX, inputY; // Throw target of every input
+    private final int inputCount; // Number of inputs
+    private final long finalTick; // Tick at which the session ended
+    private final int expectedScore, expectedCount; // Recorded final result
+
+    // Result of a replay run
+    public static class Result {
+        private final int score;
+        private final int count;
+        private final long ticks;
+        private final long slowestTickNanos;
+        private final long slowestTick;
+        private final boolean matches;
+        private final String poolStatistics;
+
+        public Result(int score, int count, long ticks, long slowestTickNanos, long slowestTick, boolean matches,
+                      String poolStatistics) {
+            this.score = score;
+            this.count = count;
+            this.ticks = ticks;
+            this.slowestTickNanos = slowestTickNanos;
+            this.slowestTick = slowestTick;
+            this.matches = matches;
+            this.poolStatistics = poolStatistics;
+        }
+
+        // Getters
+        public int getScore() { return score; }
+        public int getCount() { return count; }
+        public long getTicks() { return ticks; }
+        public long getSlowestTickNanos() { return slowestTickNanos; }
+        public long getSlowestTick() { return slowestTick; }
+        public boolean matchesRecording() { return matches; }
+        public String getPoolStatistics() { return poolStatistics; }
+    }
+
+    /**
+     * Constructor - Parse a replay from a stream
+     * @param stream Stream positioned at the start of a replay
+     * @throws IOException If the data is not a valid replay
+     */
+    public ReplayPlayer(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != ReplayRecorder.MAGIC) {
+            throw new IOException("Not a replay file");
+        }
+        int version = in.readUnsignedByte();
+        if (version != ReplayRecorder.VERSION) {
+            throw new IOException("Unsupported replay version " + version);
+        }
+        seed = in.readLong();
+        ticksPerSecond = in.readUnsignedShort();
+        if (ticksPerSecond != GameViewModel.TICKS_PER_SECOND) {
+            throw new IOException("Replay was recorded at " + ticksPerSecond + " ticks per second, game runs at "
+                    + GameViewModel.TICKS_PER_SECOND);
+        }
+        spawnSettings = SpawnSettings.readFrom(in);
+        spawnTable = SpawnTable.readFrom(in);
+
+        // Read records until the end marker
+        long[] ticks = new long[64];
+        int[] ops = new int[64], xs = new int[64], ys = new int[64];
+        int n = 0;
+        long tick = 0;
+        while (true) {
+            tick += readVarLong(in);
+            int op = in.readUnsignedByte();
+            if (op == ReplayRecorder.OP_END) break;
+            if (n == ticks.length) {
+                ticks = java.util.Arrays.copyOf(ticks, n * 2);
+                ops = java.util.Arrays.copyOf(ops, n * 2);
+                xs = java.util.Arrays.copyOf(xs, n * 2);
+                ys = java.util.Arrays.copyOf(ys, n * 2);
+            }
+            ticks[n] = tick;
+            ops[n] = op;
+            if (op == ReplayRecorder.OP_THROW) {
+                xs[n] = in.readShort();
+                ys[n] = in.readShort();
+            } else if (op < ReplayRecorder.OP_MOVE_UP
+                    || op >= ReplayRecorder.OP_MOVE_UP + GameViewModel.MoveDirection.values().length) {
+                throw new IOException("Unknown replay opcode " + op);
+            }
+            n++;
+        }
+        finalTick = tick;
+        expectedScore = in.readInt();
+        expectedCount = in.readInt();
+
+        inputTicks = ticks;
+        inputOps = ops;
+        inputX = xs;
+        inputY = ys;
+        inputCount = n;
+    }
+
+    // Method to load a replay file
+    public static ReplayPlayer load(String path) throws IOException {
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(path))) {
+            return new ReplayPlayer(stream);
+        }
+    }
+
+    // Method to read an unsigned variable-length number (7 bits per byte)
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new EOFException("Malformed number in replay");
+    }
+
+    /**
+     * Re-simulate the recorded session
+     * @param speed Multiple of real time to run at, or 0 (or less) for full speed
+     * @return The result of the re-simulation
+     */
+    public Result play(double speed) throws InterruptedException {
+        ManualGameClock clock = new ManualGameClock();
+        GameViewModel game = new GameViewModel(clock, seed);
+        game.setSpawnSettings(spawnSettings);
+        game.setSpawnTable(spawnTable);
+        game.startGame();
+
+        long tickNanos = GameViewModel.TICK_NANOS;
+        long slowestTickNanos = 0, slowestTick = 0;
+        long start = System.nanoTime();
+        int next = 0;
+
+        for (long tick = 0; tick < finalTick && game.isGameRunning(); tick++) {
+            // Inputs stamped with this tick arrived before it was simulated
+            while (next < inputCount && inputTicks[next] <= tick) {
+                applyInput(game, next++);
+            }
+
+            long tickStart = System.nanoTime();
+            clock.advanceNanos(tickNanos);
+            game.update();
+            long tickTime = System.nanoTime() - tickStart;
+            if (tickTime > slowestTickNanos) {
+                slowestTickNanos = tickTime;
+                slowestTick = tick;
+            }
+
+            // Pace against real time when a speed is given
+            if (speed > 0) {
+                long due = start + (long) ((tick + 1) * tickNanos / speed);
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+                }
+            }
+        }
+
+        boolean matches = game.getScore() == expectedScore && game.getCount() == expectedCount
+                && game.getTickCount() == finalTick;
+        return new Result(game.getScore(), game.getCount(), game.getTickCount(), slowestTickNanos, slowestTick, matches,
+                game.getPoolStatistics());
+    }
+
+    // Method to apply one recorded input to the game
+    private void applyInput(GameViewModel game, int index) {
+        int op = inputOps[index];
+        if (op == ReplayRecorder.OP_THROW) {
+            game.throwLasso(inputX[index], inputY[index]);
+        } else {
+            game.movePlayer(GameViewModel.MoveDirection.values()[op - ReplayRecorder.OP_MOVE_UP]);
+        }
+    }
+
+    // Getters
+    public long getSeed() { return seed; }
+    public SpawnSettings getSpawnSettings() { return spawnSettings; }
+    public SpawnTable getSpawnTable() { return spawnTable; }
+    public int getInputCount() { return inputCount; }
+    public long getFinalTick() { return finalTick; }
+    public int getExpectedScore() { return expectedScore; }
+    public int getExpectedCount() { return expectedCount; }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: java viewmodel.ReplayPlayer FILE [--speed X]");
+            System.exit(2);
+        }
+        try {
+            double speed = 0;
+            if (args.length >= 3 && args[1].equals("--speed")) {
+                speed = Double.parseDouble(args[2]);
+            }
+
+            ReplayPlayer replay = load(args[0]);
+            System.out.println("Replay: seed " + replay.getSeed() + ", " + replay.getInputCount() + " inputs, "
+                    + replay.getFinalTick() + " ticks, recorded score " + replay.getExpectedScore());
+            if (!replay.getSpawnSettings().isNormal()) {
+                System.out.println("Spawn settings: " + replay.getSpawnSettings());
+            }
+
+            long start = System.nanoTime();
+            Result result = replay.play(speed);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            System.out.printf("Re-simulated %d ticks in %.3f s (%.0fx real time)%n", result.getTicks(), seconds,
+                    result.getTicks() / (double) GameViewModel.TICKS_PER_SECOND / Math.max(seconds, 1e-9));
+            System.out.printf("Slowest tick: #%d took %.3f ms%n", result.getSlowestTick(),
+                    result.getSlowestTickNanos() / 1_000_000.0);
+            System.out.println(result.getPoolStatistics());
+            System.out.println("Final score: " + result.getScore() + ", caught: " + result.getCount()
+                    + (result.matchesRecording() ? " (matches recording)" : " (DOES NOT match recording: score "
+                    + replay.getExpectedScore() + ", caught " + replay.getExpectedCount() + ")"));
+            System.exit(result.matchesRecording() ? 0 : 1);
+        } catch (Exception e) {
+            System.err.println("Replay failed: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(2);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package viewmodel; // Records game sessions into compact binary replay files
+
+import java.io.ByteArrayOutputStream; // Import ByteArrayOutputStream to buffer the replay in memory
+import java.io.DataOutputStream; // Import DataOutputStream to write binary values
+import java.io.File; // Import File for the replay file location
+import java.io.FileOutputStream; // Import FileOutputStream to write the replay file
+import java.io.IOException; // Import IOException for write errors
+import java.io.OutputStream; // Import OutputStream for writing finished replays
+
+/**
+ * ReplayRecorder class - Captures the seed and every tick-stamped input of a session
+ * The simulation is deterministic for a given seed and input sequence, so this is
+ * all ReplayPlayer needs to re-simulate the exact same game
+ *
+ * File layout (big-endian):
+ *   int magic "JFRP", byte version, long seed, short ticks per second,
+ *   spawn settings: int interval ms, int burst, boolean table speeds, float min speed, float max speed, int cap
+ *   spawn table: short rows, then per row: UTF type, float weight, int points, float min speed,
+ *     float max speed, UTF sprite key
+ *   then one record per input: varint tick delta, byte opcode, payload
+ *     OP_THROW: short x, short y     OP_MOVE_*: no payload
+ *   then OP_END with varint tick delta, int final score, int final count
+ */
+public class ReplayRecorder {
+    public static final int MAGIC = 0x4A465250; // "JFRP"
+    public static final int VERSION = 6; // Bumped whenever a rule change makes old replays re-simulate differently
+    public static final String FILE_EXTENSION = ".jfreplay";
+
+    // Opcodes
+    public static final int OP_END = 0;
+    public static final int OP_THROW = 1;
+    public static final int OP_MOVE_UP = 2; // OP_MOVE_UP + MoveDirection.ordinal()
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024); // Replay bytes
+    private final DataOutputStream out = new DataOutputStream(buffer); // Writer over the buffer
+    private final long seed; // Seed of the recorded session
+    private final SpawnSettings spawnSettings; // Spawn settings of the recorded session
+    private final SpawnTable spawnTable; // Spawn table of the recorded session
+    private long lastTick; // Tick of the previous record, for delta encoding
+    private boolean finished; // No more input is accepted once the session ended
+
+    /**
+     * Constructor - Start a recording for a normal session with the given seed
+     * @param seed Seed passed to the GameViewModel
+     */
+    public ReplayRecorder(long seed) {
+        this(seed, SpawnSettings.normal(), SpawnTable.getDefault());
+    }
+
+    /**
+     * Constructor - Start a recording for a session with the given seed, spawn settings and spawn table
+     * @param seed Seed passed to the GameViewModel
+     * @param spawnSettings Spawn settings passed to the GameViewModel
+     * @param spawnTable Spawn table of the GameViewModel, stored so the replay does not depend on the data file
+     */
+    public ReplayRecorder(long seed, SpawnSettings spawnSettings, SpawnTable spawnTable) {
+        this.seed = seed;
+        this.spawnSettings = spawnSettings;
+        this.spawnTable = spawnTable;
+        try {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seed);
+            out.writeShort(GameViewModel.TICKS_PER_SECOND);
+            spawnSettings.writeTo(out);
+            spawnTable.writeTo(out);
+        } catch (IOException e) { // Cannot happen for an in-memory buffer
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Method to record a lasso throw
+    public synchronized void recordThrow(long tick, int x, int y) {
+        if (finished) return;
+        writeHeader(tick, OP_THROW);
+        try {
+            out.writeShort(x);
+            out.writeShort(y);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Method to record a player move
+    public synchronized void recordMove(long tick, GameViewModel.MoveDirection direction) {
+        if (finished) return;
+        writeHeader(tick, OP_MOVE_UP + direction.ordinal());
+    }
+
+    // Method to close the recording with the final result, used to verify replays
+    public synchronized void finish(long finalTick, int score, int count) {
+        if (finished) return;
+        writeHeader(finalTick, OP_END);
+        try {
+            out.writeInt(score);
+            out.writeInt(count);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        finished = true;
+    }
+
+    // Method to write the tick delta and opcode of one record
+    private void writeHeader(long tick, int opcode) {
+        try {
+            writeVarLong(out, tick - lastTick);
+            out.writeByte(opcode);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        lastTick = tick;
+    }
+
+    // Method to write an unsigned variable-length number (7 bits per byte)
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    // Method to write the finished replay to a stream
+    public synchronized void writeTo(OutputStream stream) throws IOException {
+        if (!finished) {
+            throw new IllegalStateException("Replay is not finished yet");
+        }
+        buffer.writeTo(stream);
+    }
+
+    // Method to save the finished replay into a directory, returns the file written
+    public File saveTo(File directory, String name) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create replay directory " + directory);
+        }
+        File file = new File(directory, name.replaceAll("[^A-Za-z0-9_-]", "_") + FILE_EXTENSION);
+        try (OutputStream stream = new FileOutputStream(file)) {
+            writeTo(stream);
+        }
+        return file;
+    }
+
+    // Getters
+    public long getSeed() { return seed; }
+    public SpawnSettings getSpawnSettings() { return spawnSettings; }
+    public SpawnTable getSpawnTable() { return spawnTable; }
+    public synchronized boolean isFinished() { return finished; }
+    public synchronized int size() { return buffer.size(); }
+}
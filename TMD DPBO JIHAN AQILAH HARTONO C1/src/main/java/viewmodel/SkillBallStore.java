@@ -0,0 +1,303 @@
+package viewmodel; // Structure-of-arrays storage for the jellyfish on screen
+
+import util.Geometry; // Import Geometry for the exact segment test
+import util.SpatialHashGrid; // Import SpatialHashGrid as the collision broadphase
+import java.util.Arrays; // Import Arrays to grow the columns
+import java.util.concurrent.ForkJoinPool; // Import ForkJoinPool to move large swarms on every core
+import java.util.concurrent.RecursiveAction; // Import RecursiveAction for the per-chunk update tasks
+
+/**
+ * SkillBallStore class - Holds every skill ball (jellyfish) as primitive columns
+ * Instead of one object per ball, each property lives in its own array, indexed by
+ * ball number, so updates and collision checks walk flat memory without allocating.
+ * Removal swaps the last ball into the freed slot, so indices are not stable across
+ * removals and callers must not hold on to them.
+ * Lookups go through a spatial hash grid that is rebuilt lazily, only on the first
+ * lookup after the balls moved, so ticks without a lasso never pay for it.
+ * Once more balls than the parallel threshold are on screen, updateAndCull splits the
+ * columns into chunks and moves them on a ForkJoinPool. Each chunk compacts its own
+ * survivors, then the chunks are joined in order, so the result is the same as the
+ * single-threaded update, ball for ball. The threshold defaults to 4096 and can be set
+ * with -Djellyfish.parallelThreshold=N
+ */
+public class SkillBallStore {
+    public static final int BALL_SIZE = 50; // Width and height of every ball
+    private static final int INITIAL_CAPACITY = 64; // Starting column length
+    private static final float CELL_SIZE = 64; // Grid cell size, a little over one ball
+    public static final int DEFAULT_PARALLEL_THRESHOLD = Integer.getInteger("jellyfish.parallelThreshold", 4096);
+    private static final int MIN_CHUNK_SIZE = 1024; // Smaller chunks cost more to schedule than to move
+    private static final int CHUNKS_PER_THREAD = 4; // Spare chunks so a slow thread does not hold up the rest
+
+    // Columns, valid for indices 0 .. count-1
+    private float[] x, y; // Top-left position
+    private float[] dx, dy; // Speed per tick
+    private int[] species; // Row of the ball's species in the spawn table
+    private int count; // Number of live balls
+
+    private final SpatialHashGrid grid; // Broadphase over the ball boxes
+    private int[] candidates; // Query buffer for the grid
+    private boolean gridDirty = true; // Balls changed since the grid was last rebuilt
+    private float lastHitParameter = -1; // Contact parameter of the last segment hit
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool(); // Threads for the parallel update
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD; // Ball count from which the update runs in parallel
+    private ChunkTask[] chunkTasks = new ChunkTask[0]; // Reused chunk tasks, one per chunk
+    private final UpdateTask updateTask = new UpdateTask(); // Reused root task
+    private float cullMinX, cullMaxX; // Cull range of the running parallel update
+    private int lastChunkCount = 1; // Chunks used by the last update (1 = single-threaded)
+
+    // Constructor to create an empty store covering the 800x600 game area
+    public SkillBallStore() {
+        this(800, 600);
+    }
+
+    // Constructor to create an empty store covering a game area of the given size
+    public SkillBallStore(int areaWidth, int areaHeight) {
+        grid = new SpatialHashGrid(0, 0, areaWidth, areaHeight, CELL_SIZE);
+        candidates = new int[INITIAL_CAPACITY];
+        x = new float[INITIAL_CAPACITY];
+        y = new float[INITIAL_CAPACITY];
+        dx = new float[INITIAL_CAPACITY];
+        dy = new float[INITIAL_CAPACITY];
+        species = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Add a ball at the end of the store
+     * @param species Row of the ball's species in the spawn table
+     * @return Index of the new ball
+     */
+    public int add(float x, float y, float dx, float dy, int species) {
+        if (count == this.x.length) {
+            grow();
+        }
+        int i = count++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.dx[i] = dx;
+        this.dy[i] = dy;
+        this.species[i] = species;
+        gridDirty = true;
+        return i;
+    }
+
+    // Method to remove a ball by moving the last ball into its slot
+    public void swapRemove(int i) {
+        int last = --count;
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            dx[i] = dx[last];
+            dy[i] = dy[last];
+            species[i] = species[last];
+        }
+        gridDirty = true;
+    }
+
+    /**
+     * Move every ball by its speed and remove the ones that left the horizontal range
+     * The balls that stay keep their order. Above the parallel threshold the work is
+     * split over the pool, with exactly the same result
+     * @param minX Balls with x below this are removed
+     * @param maxX Balls with x above this are removed
+     * @return Number of balls removed
+     */
+    public int updateAndCull(float minX, float maxX) {
+        int n = count;
+        gridDirty = true;
+        int chunks = n < parallelThreshold || pool.getParallelism() < 2 ? 1
+                : Math.min((n + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE, pool.getParallelism() * CHUNKS_PER_THREAD);
+        lastChunkCount = chunks;
+        if (chunks <= 1) {
+            count = moveAndCompact(0, n, minX, maxX);
+            return n - count;
+        }
+
+        // Mark: every chunk moves its balls and packs its survivors at its own start
+        if (chunkTasks.length < chunks) {
+            ChunkTask[] tasks = Arrays.copyOf(chunkTasks, chunks);
+            for (int k = chunkTasks.length; k < chunks; k++) {
+                tasks[k] = new ChunkTask();
+            }
+            chunkTasks = tasks;
+        }
+        for (int k = 0; k < chunks; k++) {
+            ChunkTask task = chunkTasks[k];
+            task.from = (int) ((long) n * k / chunks);
+            task.to = (int) ((long) n * (k + 1) / chunks);
+        }
+        cullMinX = minX;
+        cullMaxX = maxX;
+        updateTask.chunks = chunks;
+        updateTask.reinitialize();
+        pool.invoke(updateTask);
+
+        // Compact: close the gaps between the chunks, in chunk order
+        int end = chunkTasks[0].end;
+        for (int k = 1; k < chunks; k++) {
+            ChunkTask task = chunkTasks[k];
+            int length = task.end - task.from;
+            if (length > 0 && task.from != end) {
+                System.arraycopy(x, task.from, x, end, length);
+                System.arraycopy(y, task.from, y, end, length);
+                System.arraycopy(dx, task.from, dx, end, length);
+                System.arraycopy(dy, task.from, dy, end, length);
+                System.arraycopy(species, task.from, species, end, length);
+            }
+            end += length;
+        }
+        count = end;
+        return n - end;
+    }
+
+    /**
+     * Move the balls in [from, to) and pack the ones still in range at the start of the range
+     * @return End of the packed survivors
+     */
+    private int moveAndCompact(int from, int to, float minX, float maxX) {
+        float[] x = this.x, y = this.y, dx = this.dx, dy = this.dy;
+        int[] species = this.species;
+        int end = from;
+        for (int i = from; i < to; i++) {
+            float nx = x[i] + dx[i];
+            if (nx < minX || nx > maxX) {
+                continue; // Left the screen, leave it behind
+            }
+            x[end] = nx;
+            y[end] = y[i] + dy[i];
+            dx[end] = dx[i];
+            dy[end] = dy[i];
+            species[end] = species[i];
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Set where the parallel update runs and from how many balls on
+     * @param pool Pool for the chunk tasks
+     * @param threshold Ball count from which to update in parallel (Integer.MAX_VALUE = never)
+     */
+    public void setParallelUpdate(ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be positive: " + threshold);
+        }
+        this.pool = pool;
+        this.parallelThreshold = threshold;
+    }
+
+    // Task that moves and packs one chunk of the columns
+    private final class ChunkTask extends RecursiveAction {
+        int from, to; // Range of the chunk
+        int end; // End of the packed survivors, set by compute()
+
+        @Override
+        protected void compute() {
+            end = moveAndCompact(from, to, cullMinX, cullMaxX);
+        }
+    }
+
+    // Task that runs every chunk task and waits for them
+    private final class UpdateTask extends RecursiveAction {
+        int chunks; // Number of chunk tasks to run
+
+        @Override
+        protected void compute() {
+            for (int k = chunks - 1; k > 0; k--) {
+                chunkTasks[k].reinitialize();
+                chunkTasks[k].fork();
+            }
+            chunkTasks[0].end = moveAndCompact(chunkTasks[0].from, chunkTasks[0].to, cullMinX, cullMaxX);
+            for (int k = 1; k < chunks; k++) {
+                chunkTasks[k].join();
+            }
+        }
+    }
+
+    /**
+     * Find the last ball (highest index) whose box contains the given point
+     * @return Index of the ball, or -1 if none contains the point
+     */
+    public int findAt(int px, int py) {
+        SpatialHashGrid grid = getGrid();
+        int n = grid.queryPoint(px, py, candidates);
+        int found = -1;
+        for (int k = 0; k < n; k++) {
+            int i = candidates[k];
+            float bx = x[i], by = y[i];
+            if (i > found && px >= bx && px < bx + BALL_SIZE && py >= by && py < by + BALL_SIZE) {
+                found = i;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Find the ball a line segment touches first, going from (x0, y0) to (x1, y1)
+     * Balls touched at the same point are resolved in favour of the highest index.
+     * The contact parameter (0 at the start, 1 at the end) is kept for getLastHitParameter()
+     * @return Index of the ball, or -1 if the segment touches none
+     */
+    public int findFirstOnSegment(float x0, float y0, float x1, float y1) {
+        SpatialHashGrid grid = getGrid();
+        int n = grid.querySegment(x0, y0, x1, y1, candidates);
+        float dx = x1 - x0, dy = y1 - y0;
+        int found = -1;
+        float bestT = Float.MAX_VALUE;
+        for (int k = 0; k < n; k++) {
+            int i = candidates[k];
+            float t = Geometry.segmentBoxEntry(x0, y0, dx, dy, x[i], y[i], x[i] + BALL_SIZE, y[i] + BALL_SIZE);
+            if (t >= 0 && (t < bestT || (t == bestT && i > found))) {
+                bestT = t;
+                found = i;
+            }
+        }
+        lastHitParameter = found >= 0 ? bestT : -1;
+        return found;
+    }
+
+    /**
+     * Get the broadphase grid, rebuilding it first if balls moved since the last lookup
+     * Query results are ball indices and are only valid until the store changes
+     */
+    public SpatialHashGrid getGrid() {
+        if (gridDirty) {
+            grid.rebuild(x, y, count, BALL_SIZE, BALL_SIZE);
+            if (candidates.length < count) {
+                candidates = new int[x.length];
+            }
+            gridDirty = false;
+        }
+        return grid;
+    }
+
+    // Method to remove every ball
+    public void clear() {
+        count = 0;
+        gridDirty = true;
+    }
+
+    // Method to double the capacity of every column
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        dx = Arrays.copyOf(dx, capacity);
+        dy = Arrays.copyOf(dy, capacity);
+        species = Arrays.copyOf(species, capacity);
+    }
+
+    // Getters for ball properties by index
+    public int size() { return count; }
+    public boolean isEmpty() { return count == 0; }
+    public float getX(int i) { return x[i]; }
+    public float getY(int i) { return y[i]; }
+    public float getDx(int i) { return dx[i]; }
+    public float getDy(int i) { return dy[i]; }
+    public int getSpecies(int i) { return species[i]; }
+    public int getWidth() { return BALL_SIZE; }
+    public int getHeight() { return BALL_SIZE; }
+    public float getLastHitParameter() { return lastHitParameter; }
+    public int getParallelThreshold() { return parallelThreshold; }
+    public int getLastChunkCount() { return lastChunkCount; }
+}
@@ -0,0 +1,122 @@
+package viewmodel; // Settings for how jellyfish are spawned
+
+import java.io.DataInputStream; // Import DataInputStream to read settings from a replay
+import java.io.DataOutputStream; // Import DataOutputStream to write settings into a replay
+import java.io.IOException; // Import IOException for replay read and write errors
+
+/**
+ * SpawnSettings class - How often, how many and how fast jellyfish are spawned
+ * The normal game spawns one jellyfish every 1200 ms at the speed its species has in
+ * the SpawnTable. Swarm mode spawns bursts every tick with random speeds up to an
+ * entity cap, to see how the game behaves with thousands of jellyfish on screen.
+ * Swarm mode is turned on with -Djellyfish.swarm=true; its values can be changed with
+ * -Djellyfish.swarm.interval=MS, .burst=N, .minSpeed=PX, .maxSpeed=PX and .cap=N
+ */
+public class SpawnSettings {
+    private final int intervalMillis; // Time between spawns (0 = every tick)
+    private final int burstSize; // Jellyfish spawned each time
+    private final boolean tableSpeeds; // Use each species' speed from the spawn table
+    private final float minSpeed, maxSpeed; // Speed range in pixels per tick, picked uniformly (unless tableSpeeds)
+    private final int maxEntities; // No spawning while this many jellyfish are on screen
+
+    /**
+     * Constructor - Create spawn settings
+     * @param intervalMillis Time between spawns in milliseconds (0 = every tick)
+     * @param burstSize Number of jellyfish spawned each time
+     * @param minSpeed Lowest speed in pixels per tick
+     * @param maxSpeed Highest speed in pixels per tick
+     * @param maxEntities Maximum number of jellyfish on screen
+     */
+    public SpawnSettings(int intervalMillis, int burstSize, float minSpeed, float maxSpeed, int maxEntities) {
+        this(intervalMillis, burstSize, false, minSpeed, maxSpeed, maxEntities);
+    }
+
+    // Shared constructor, speeds are ignored when tableSpeeds is set
+    private SpawnSettings(int intervalMillis, int burstSize, boolean tableSpeeds, float minSpeed, float maxSpeed,
+                          int maxEntities) {
+        if (intervalMillis < 0 || burstSize < 1 || maxEntities < 1
+                || (!tableSpeeds && (minSpeed <= 0 || maxSpeed < minSpeed))) {
+            throw new IllegalArgumentException("Invalid spawn settings: interval " + intervalMillis + " ms, burst "
+                    + burstSize + ", speed " + minSpeed + ".." + maxSpeed + ", cap " + maxEntities);
+        }
+        this.intervalMillis = intervalMillis;
+        this.burstSize = burstSize;
+        this.tableSpeeds = tableSpeeds;
+        this.minSpeed = minSpeed;
+        this.maxSpeed = maxSpeed;
+        this.maxEntities = maxEntities;
+    }
+
+    // Method to get the settings of the normal game
+    public static SpawnSettings normal() {
+        return new SpawnSettings(1200, 1, true, 0, 0, Integer.MAX_VALUE);
+    }
+
+    // Method to get the default swarm settings: 8 jellyfish per tick at speed 1-4, up to 5000
+    public static SpawnSettings swarm() {
+        return new SpawnSettings(0, 8, 1, 4, 5000);
+    }
+
+    // Method to get the settings chosen with system properties (normal unless jellyfish.swarm=true)
+    public static SpawnSettings fromSystemProperties() {
+        if (!Boolean.getBoolean("jellyfish.swarm")) {
+            return normal();
+        }
+        SpawnSettings swarm = swarm();
+        return new SpawnSettings(
+                Integer.getInteger("jellyfish.swarm.interval", swarm.intervalMillis),
+                Integer.getInteger("jellyfish.swarm.burst", swarm.burstSize),
+                floatProperty("jellyfish.swarm.minSpeed", swarm.minSpeed),
+                floatProperty("jellyfish.swarm.maxSpeed", swarm.maxSpeed),
+                Integer.getInteger("jellyfish.swarm.cap", swarm.maxEntities));
+    }
+
+    // Method to read a float system property with a default
+    private static float floatProperty(String name, float defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Float.parseFloat(value);
+    }
+
+    // Method to check whether these are the normal game settings
+    public boolean isNormal() {
+        SpawnSettings normal = normal();
+        return intervalMillis == normal.intervalMillis && burstSize == normal.burstSize
+                && tableSpeeds == normal.tableSpeeds && minSpeed == normal.minSpeed && maxSpeed == normal.maxSpeed
+                && maxEntities == normal.maxEntities;
+    }
+
+    // Method to write the settings into a replay
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(intervalMillis);
+        out.writeInt(burstSize);
+        out.writeBoolean(tableSpeeds);
+        out.writeFloat(minSpeed);
+        out.writeFloat(maxSpeed);
+        out.writeInt(maxEntities);
+    }
+
+    // Method to read settings written by writeTo
+    static SpawnSettings readFrom(DataInputStream in) throws IOException {
+        try {
+            return new SpawnSettings(in.readInt(), in.readInt(), in.readBoolean(), in.readFloat(), in.readFloat(),
+                    in.readInt());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt spawn settings in replay: " + e.getMessage(), e);
+        }
+    }
+
+    // Getters
+    public int getIntervalMillis() { return intervalMillis; }
+    public int getBurstSize() { return burstSize; }
+    public boolean usesTableSpeeds() { return tableSpeeds; }
+    public float getMinSpeed() { return minSpeed; }
+    public float getMaxSpeed() { return maxSpeed; }
+    public int getMaxEntities() { return maxEntities; }
+
+    @Override
+    public String toString() {
+        return "interval " + intervalMillis + " ms, burst " + burstSize + ", speed "
+                + (tableSpeeds ? "from spawn table" : minSpeed + "-" + maxSpeed + " px/tick") + ", cap "
+                + (maxEntities == Integer.MAX_VALUE ? "none" : String.valueOf(maxEntities));
+    }
+}
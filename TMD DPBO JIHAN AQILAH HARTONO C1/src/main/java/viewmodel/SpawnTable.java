@@ -0,0 +1,235 @@
+package viewmodel; // Data-driven table of the jellyfish species that can spawn
+
+import util.AliasTable; // Import AliasTable for constant-time weighted sampling
+import java.io.BufferedReader; // Import BufferedReader to read the table line by line
+import java.io.DataInputStream; // Import DataInputStream to read a table from a replay
+import java.io.DataOutputStream; // Import DataOutputStream to write a table into a replay
+import java.io.FileInputStream; // Import FileInputStream for a table file given on the command line
+import java.io.IOException; // Import IOException for read errors
+import java.io.InputStream; // Import InputStream as the table source
+import java.io.InputStreamReader; // Import InputStreamReader to decode the table text
+import java.nio.charset.StandardCharsets; // Import StandardCharsets for UTF-8 decoding
+import java.util.ArrayList; // Import ArrayList to collect the parsed rows
+import java.util.List; // Import List to handle collections of rows
+import java.util.Random; // Import Random as the sampling source
+
+/**
+ * SpawnTable class - Which jellyfish spawn, how often, how fast and what they are worth
+ * Loaded from /data/spawn_table.csv (or the file in -Djellyfish.spawnTable=FILE) with one
+ * line per species: id, weight, points, min speed, max speed, sprite. Spawning draws a
+ * species from a precomputed alias table, so a draw costs the same however many species
+ * the table lists. A species is only its row: the game refers to it by row index, scores
+ * it with its points and draws it with the sprite it names. The built-in ids (JF1..JF4)
+ * also have shapes to fall back on when their sprite is missing
+ */
+public class SpawnTable {
+    public static final String DEFAULT_RESOURCE = "/data/spawn_table.csv";
+    private static final int COLUMNS = 6;
+    private static volatile SpawnTable defaultTable; // Loaded on first use, shared by all games
+
+    // One species in the table
+    public static final class Entry {
+        private final String id;
+        private final float weight;
+        private final int points;
+        private final float minSpeed, maxSpeed;
+        private final String spriteKey;
+        private final GameViewModel.BallType fallbackType; // Built-in species with the same id (null if none)
+
+        public Entry(String id, float weight, int points, float minSpeed, float maxSpeed, String spriteKey) {
+            if (id.isEmpty() || spriteKey.isEmpty() || weight < 0 || minSpeed <= 0 || maxSpeed < minSpeed) {
+                throw new IllegalArgumentException("Invalid spawn entry for '" + id + "': weight " + weight
+                        + ", speed " + minSpeed + ".." + maxSpeed + ", sprite '" + spriteKey + "'");
+            }
+            this.id = id;
+            this.weight = weight;
+            this.points = points;
+            this.minSpeed = minSpeed;
+            this.maxSpeed = maxSpeed;
+            this.spriteKey = spriteKey;
+            this.fallbackType = findBuiltIn(id);
+        }
+
+        // Method to find the built-in species an id names, or null for a species only the table knows
+        private static GameViewModel.BallType findBuiltIn(String id) {
+            for (GameViewModel.BallType type : GameViewModel.BallType.values()) {
+                if (type.name().equalsIgnoreCase(id)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+
+        // Getters
+        public String getId() { return id; }
+        public GameViewModel.BallType getFallbackType() { return fallbackType; }
+        public float getWeight() { return weight; }
+        public int getPoints() { return points; }
+        public float getMinSpeed() { return minSpeed; }
+        public float getMaxSpeed() { return maxSpeed; }
+        public String getSpriteKey() { return spriteKey; }
+    }
+
+    private final Entry[] entries; // Rows in file order; a species is known by its index here
+    private final double totalWeight; // Sum of the weights
+    private final AliasTable alias; // Weighted sampler over the rows
+
+    /**
+     * Constructor - Build a table from its rows
+     * @param rows One row per species, each id at most once (ignoring case)
+     */
+    public SpawnTable(List<Entry> rows) {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("The spawn table is empty");
+        }
+        entries = rows.toArray(new Entry[0]);
+        double[] weights = new double[entries.length];
+        double total = 0;
+        for (int i = 0; i < entries.length; i++) {
+            Entry entry = entries[i];
+            for (int j = 0; j < i; j++) {
+                if (entries[j].id.equalsIgnoreCase(entry.id)) {
+                    throw new IllegalArgumentException("Species " + entry.id + " is listed twice");
+                }
+            }
+            weights[i] = entry.weight;
+            total += entry.weight;
+        }
+        totalWeight = total;
+        alias = new AliasTable(weights);
+    }
+
+    /**
+     * Parse a table in the CSV format described above ("#" starts a comment)
+     * @param stream Table text in UTF-8
+     * @param sourceName Name used in error messages
+     * @throws IOException If the table cannot be read or has a malformed line
+     */
+    public static SpawnTable parse(InputStream stream, String sourceName) throws IOException {
+        List<Entry> rows = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            if (comment >= 0) line = line.substring(0, comment);
+            line = line.trim();
+            if (line.isEmpty()) continue;
+
+            String[] parts = line.split("\\s*,\\s*");
+            try {
+                if (parts.length != COLUMNS) {
+                    throw new IllegalArgumentException("expected " + COLUMNS + " columns, found " + parts.length);
+                }
+                rows.add(new Entry(parts[0], Float.parseFloat(parts[1]), Integer.parseInt(parts[2]),
+                        Float.parseFloat(parts[3]), Float.parseFloat(parts[4]), parts[5]));
+            } catch (RuntimeException e) {
+                throw new IOException(sourceName + ":" + lineNumber + ": bad spawn table line '" + line + "' ("
+                        + e.getMessage() + ")", e);
+            }
+        }
+        try {
+            return new SpawnTable(rows);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(sourceName + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get the table the game starts with, loading it on first use
+     * @throws IllegalStateException If the table file is malformed, or the one given with
+     *         -Djellyfish.spawnTable is missing
+     */
+    public static SpawnTable getDefault() {
+        SpawnTable table = defaultTable;
+        if (table == null) {
+            synchronized (SpawnTable.class) {
+                table = defaultTable;
+                if (table == null) {
+                    table = defaultTable = loadDefault();
+                }
+            }
+        }
+        return table;
+    }
+
+    // Method to read the table chosen with -Djellyfish.spawnTable, or the bundled one
+    private static SpawnTable loadDefault() {
+        String path = System.getProperty("jellyfish.spawnTable");
+        if (path == null && SpawnTable.class.getResource(DEFAULT_RESOURCE) == null) {
+            System.out.println("Spawn table " + DEFAULT_RESOURCE + " not found, using the built-in table");
+            return builtIn();
+        }
+        try (InputStream stream = path != null ? new FileInputStream(path)
+                : SpawnTable.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (stream == null) {
+                throw new IOException("Resource " + DEFAULT_RESOURCE + " not found");
+            }
+            return parse(stream, path != null ? path : DEFAULT_RESOURCE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot load the spawn table: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get the table built into the game, with the same species, odds and points as the
+     * bundled spawn_table.csv. Used when the classes run without the resources folder
+     */
+    public static SpawnTable builtIn() {
+        List<Entry> rows = new ArrayList<>();
+        rows.add(new Entry("JF3", 25, 10, 2, 2, "jf3"));
+        rows.add(new Entry("JF1", 25, 20, 2, 2, "jf1"));
+        rows.add(new Entry("JF2", 45, 30, 2, 2, "jf2"));
+        rows.add(new Entry("JF4", 5, 100, 2, 2, "jf4"));
+        return new SpawnTable(rows);
+    }
+
+    // Method to draw a species, using exactly one random number; returns its row index
+    public int sample(Random random) {
+        return alias.sample(random);
+    }
+
+    // Method to get the row of a species by index
+    public Entry getEntry(int species) {
+        return entries[species];
+    }
+
+    // Method to get the share of spawns that are the given species (0..1)
+    public double getChance(int species) {
+        return entries[species].weight / totalWeight;
+    }
+
+    // Method to get the number of species
+    public int size() {
+        return entries.length;
+    }
+
+    // Method to write the table into a replay, so the replay does not depend on the file
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeShort(entries.length);
+        for (Entry entry : entries) {
+            out.writeUTF(entry.id);
+            out.writeFloat(entry.weight);
+            out.writeInt(entry.points);
+            out.writeFloat(entry.minSpeed);
+            out.writeFloat(entry.maxSpeed);
+            out.writeUTF(entry.spriteKey);
+        }
+    }
+
+    // Method to read a table written by writeTo
+    static SpawnTable readFrom(DataInputStream in) throws IOException {
+        int n = in.readUnsignedShort();
+        List<Entry> rows = new ArrayList<>(n);
+        try {
+            for (int i = 0; i < n; i++) {
+                rows.add(new Entry(in.readUTF(), in.readFloat(), in.readInt(),
+                        in.readFloat(), in.readFloat(), in.readUTF()));
+            }
+            return new SpawnTable(rows);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt spawn table in replay: " + e.getMessage(), e);
+        }
+    }
+}